@@ -9,16 +9,23 @@ import java.util.UUID;
 
 @Getter
 public abstract class DomainEvent extends ApplicationEvent {
-    private final UUID eventId = UUID.randomUUID();
-    private final Instant occurredOnUtc = Instant.now();
+    private final UUID eventId;
+    private final Instant occurredOnUtc;
 
     public DomainEvent(Object source) {
+        this(source, UUID.randomUUID(), Instant.now());
+    }
+
+    // Восстановление ранее возникшего события с его id и временем
+    protected DomainEvent(Object source, UUID eventId, Instant occurredOnUtc) {
         super(source);
+        this.eventId = eventId;
+        this.occurredOnUtc = occurredOnUtc;
     }
 
     // Fake Ctr for Jackson / JPA
     protected DomainEvent() {
-        super("default");
+        this("default", UUID.randomUUID(), Instant.now());
     }
 
     @JsonIgnore
@@ -0,0 +1,33 @@
+package libs.ddd;
+
+/**
+ * Value object, все компоненты которого укладываются в один long.
+ * equals, hashCode и compareTo работают по этому ключу без списков компонентов, упаковки и safeCompare.
+ * equalityComponents остается для toString.
+ */
+public abstract class PrimitiveValueObject<T extends PrimitiveValueObject<T>> extends ValueObject<T> {
+
+    /**
+     * Ключ, однозначно задающий значение. Порядок ключей должен совпадать с естественным порядком объектов.
+     */
+    protected abstract long primitiveKey();
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        return primitiveKey() == ((PrimitiveValueObject<?>) o).primitiveKey();
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(primitiveKey());
+    }
+
+    @Override
+    public int compareTo(T other) {
+        return Long.compare(primitiveKey(), other.primitiveKey());
+    }
+}
@@ -6,30 +6,59 @@ public final class Error {
 
     private static final String SEPARATOR = "||";
 
+    private static final Object[] NO_ARGS = new Object[0];
+
     private final String code;
-    private final String message;
+    private final String template;
+    private final Object[] args;
+    // Сообщение форматируется при первом обращении: вызывающему коду часто достаточно isFailure() и кода
+    private String message;
 
     private Error(String code, String message) {
         this.code = code;
+        this.template = message;
+        this.args = NO_ARGS;
         this.message = message;
     }
 
+    private Error(String code, String template, Object[] args) {
+        this.code = code;
+        this.template = template;
+        this.args = args;
+    }
+
     public static Error of(String code, String message) {
         Objects.requireNonNull(code);
         Objects.requireNonNull(message);
         return new Error(code, message);
     }
 
+    /**
+     * Ошибка с сообщением String.format(template, args), которое форматируется лениво.
+     * Аргументы должны быть неизменяемыми.
+     */
+    public static Error of(String code, String template, Object... args) {
+        Objects.requireNonNull(code);
+        Objects.requireNonNull(template);
+        return new Error(code, template, args);
+    }
+
     public String getCode() {
         return code;
     }
 
     public String getMessage() {
-        return message;
+        // Гонка безопасна: сообщение детерминировано, в худшем случае отформатируется дважды
+        var formatted = message;
+        if (formatted == null) {
+            formatted = String.format(template, args);
+            message = formatted;
+        }
+        return formatted;
     }
 
     public String serialize() {
-        return code + SEPARATOR + message;
+        return code + SEPARATOR + getMessage();
     }
 
     public static Error deserialize(String serialized) {
@@ -65,16 +94,16 @@ public final class Error {
             return true;
         if (!(o instanceof Error error))
             return false;
-        return Objects.equals(code, error.code) && Objects.equals(message, error.message);
+        return Objects.equals(code, error.code) && Objects.equals(getMessage(), error.getMessage());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(code, message);
+        return Objects.hash(code, getMessage());
     }
 
     @Override
     public String toString() {
-        return "Error{" + "code='" + code + '\'' + ", message='" + message + '\'' + '}';
+        return "Error{" + "code='" + code + '\'' + ", message='" + getMessage() + '\'' + '}';
     }
 }
\ No newline at end of file
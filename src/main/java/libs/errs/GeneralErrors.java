@@ -13,7 +13,7 @@ public final class GeneralErrors {
 
         return Error.of(
                 "record.not.found",
-                String.format("Record not found. Name: %s, id: %s", name, id)
+                "Record not found. Name: %s, id: %s", name, id
         );
     }
 
@@ -24,7 +24,7 @@ public final class GeneralErrors {
 
         return Error.of(
                 "value.is.invalid",
-                String.format("Value '%s' is invalid for %s", value, name)
+                "Value '%s' is invalid for %s", value, name
         );
     }
 
@@ -57,10 +57,8 @@ public final class GeneralErrors {
             throw new IllegalArgumentException("Name must not be null or empty");
         }
 
-        String message = String.format("Value %s for %s is out of range. Min value is %s, max value is %s.", value,
-                name, min, max);
-
-        return Error.of("value.is.out.of.range", message);
+        return Error.of("value.is.out.of.range",
+                "Value %s for %s is out of range. Min value is %s, max value is %s.", value, name, min, max);
     }
 
     public static <T extends Comparable<T>> Error valueMustBeGreaterThan(
@@ -74,12 +72,10 @@ public final class GeneralErrors {
 
         return Error.of(
                 "value.must.be.greater.than",
-                String.format(
-                        "The value of %s (%s) must be greater than %s.",
-                        name,
-                        value,
-                        min
-                )
+                "The value of %s (%s) must be greater than %s.",
+                name,
+                value,
+                min
         );
     }
 
@@ -94,12 +90,10 @@ public final class GeneralErrors {
 
         return Error.of(
                 "value.must.be.greater.or.equal",
-                String.format(
-                        "The value of %s (%s) must be greater than or equal to %s.",
-                        name,
-                        value,
-                        min
-                )
+                "The value of %s (%s) must be greater than or equal to %s.",
+                name,
+                value,
+                min
         );
     }
 
@@ -114,12 +108,10 @@ public final class GeneralErrors {
 
         return Error.of(
                 "value.must.be.less.than",
-                String.format(
-                        "The value of %s (%s) must be less than %s.",
-                        name,
-                        value,
-                        max
-                )
+                "The value of %s (%s) must be less than %s.",
+                name,
+                value,
+                max
         );
     }
 
@@ -134,12 +126,10 @@ public final class GeneralErrors {
 
         return Error.of(
                 "value.must.be.less.or.equal",
-                String.format(
-                        "The value of %s (%s) must be less than or equal to %s.",
-                        name,
-                        value,
-                        max
-                )
+                "The value of %s (%s) must be less than or equal to %s.",
+                name,
+                value,
+                max
         );
     }
 
@@ -5,6 +5,20 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 public class Result<T, E extends Error> {
 
+    // Результаты неизменяемы, поэтому частые успешные значения раздаются из кэша
+    private static final Result<?, ?> SUCCESS_VOID = new Result<>(null, null, true);
+    private static final Result<?, ?> SUCCESS_TRUE = new Result<>(Boolean.TRUE, null, true);
+    private static final Result<?, ?> SUCCESS_FALSE = new Result<>(Boolean.FALSE, null, true);
+    private static final int CACHED_INT_MIN = -128;
+    private static final int CACHED_INT_MAX = 1023;
+    private static final Result<?, ?>[] SUCCESS_INTS = new Result<?, ?>[CACHED_INT_MAX - CACHED_INT_MIN + 1];
+
+    static {
+        for (int i = 0; i < SUCCESS_INTS.length; i++) {
+            SUCCESS_INTS[i] = new Result<>(CACHED_INT_MIN + i, null, true);
+        }
+    }
+
     private final T value;
     private final E error;
     private final boolean isSuccess;
@@ -17,13 +31,19 @@ public class Result<T, E extends Error> {
 
     /* ---------- factory ---------- */
 
+    @SuppressWarnings("unchecked")
     public static <T, E extends Error> Result<T, E> success(T value) {
         Objects.requireNonNull(value);
+        if (value instanceof Integer i && i >= CACHED_INT_MIN && i <= CACHED_INT_MAX)
+            return (Result<T, E>) SUCCESS_INTS[i - CACHED_INT_MIN];
+        if (value instanceof Boolean b)
+            return (Result<T, E>) (b ? SUCCESS_TRUE : SUCCESS_FALSE);
         return new Result<>(value, null, true);
     }
 
+    @SuppressWarnings("unchecked")
     public static <E extends Error> Result<Void, E> success() {
-        return new Result<>(null, null, true);
+        return (Result<Void, E>) SUCCESS_VOID;
     }
 
     public static <T, E extends Error> Result<T, E> failure(E error) {
@@ -6,6 +6,9 @@ import java.util.function.Function;
 
 public final class UnitResult<E extends Error> {
 
+    // Успешный результат не несет данных, поэтому один экземпляр на всех
+    private static final UnitResult<?> SUCCESS = new UnitResult<>(true, null);
+
     private final boolean isSuccess;
     private final E error;
 
@@ -16,8 +19,9 @@ public final class UnitResult<E extends Error> {
 
     /* ---------- factory ---------- */
 
+    @SuppressWarnings("unchecked")
     public static <E extends Error> UnitResult<E> success() {
-        return new UnitResult<>(true, null);
+        return (UnitResult<E>) SUCCESS;
     }
 
     public static <E extends Error> UnitResult<E> failure(E error) {
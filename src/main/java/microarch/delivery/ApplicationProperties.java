@@ -3,12 +3,19 @@ package microarch.delivery;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "app")
 public class ApplicationProperties {
 
     private final Grpc grpc = new Grpc();
     private final Kafka kafka = new Kafka();
+    private final Dispatch dispatch = new Dispatch();
+    private final MapProperties map = new MapProperties();
+    private final Outbox outbox = new Outbox();
 
     public Grpc getGrpc() {
         return grpc;
@@ -18,6 +25,18 @@ public class ApplicationProperties {
         return kafka;
     }
 
+    public Dispatch getDispatch() {
+        return dispatch;
+    }
+
+    public MapProperties getMap() {
+        return map;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
     public static class Grpc {
         private final GeoService geoService = new GeoService();
 
@@ -67,4 +86,239 @@ public class ApplicationProperties {
             this.basketsEventsTopic = basketsEventsTopic;
         }
     }
-}
\ No newline at end of file
+
+    public static class Dispatch {
+        // Сколько заказов в статусе CREATED назначается за один тик. 1 - по одному заказу за тик
+        private int batchSize = 1;
+        private Strategy strategy = Strategy.GREEDY;
+        // Курьер может везти несколько заказов сразу - по одному в каждом месте хранения
+        private boolean multiOrder = false;
+        // Сколько самых быстрых до заказа курьеров захватывается на каждый заказ пачки.
+        // Остальных курьеров забирают параллельные распределители
+        private int courierFanOut = 8;
+        private final Regions regions = new Regions();
+        // Сигналы о новых заказах и освободившихся курьерах за это окно распределяются одной пачкой
+        private Duration coalesceWindow = Duration.ofMillis(20);
+        // Интервал опроса Quartz - страховка на случай потерянных сигналов
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public boolean isMultiOrder() {
+            return multiOrder;
+        }
+
+        public void setMultiOrder(boolean multiOrder) {
+            this.multiOrder = multiOrder;
+        }
+
+        public int getCourierFanOut() {
+            return courierFanOut;
+        }
+
+        public void setCourierFanOut(int courierFanOut) {
+            this.courierFanOut = courierFanOut;
+        }
+
+        public Regions getRegions() {
+            return regions;
+        }
+
+        public Duration getCoalesceWindow() {
+            return coalesceWindow;
+        }
+
+        public void setCoalesceWindow(Duration coalesceWindow) {
+            this.coalesceWindow = coalesceWindow;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public enum Strategy {
+            // Лучший курьер для каждого заказа по очереди
+            GREEDY,
+            // Минимальное суммарное время доставки по всей пачке
+            OPTIMAL
+        }
+
+        public static class Regions {
+            // Сторона региона в клетках карты. 0 - экземпляр распределяет заказы всей карты
+            private int tileSize = 0;
+            // Регионы, заказы которых распределяет этот экземпляр
+            private List<Integer> claimed = new ArrayList<>();
+            // Заказ, не назначенный дольше этого времени, может забрать любой экземпляр
+            private Duration starvationTimeout = Duration.ofSeconds(30);
+
+            public boolean isEnabled() {
+                return tileSize > 0;
+            }
+
+            public int getTileSize() {
+                return tileSize;
+            }
+
+            public void setTileSize(int tileSize) {
+                this.tileSize = tileSize;
+            }
+
+            public List<Integer> getClaimed() {
+                return claimed;
+            }
+
+            public void setClaimed(List<Integer> claimed) {
+                this.claimed = claimed;
+            }
+
+            public Duration getStarvationTimeout() {
+                return starvationTimeout;
+            }
+
+            public void setStarvationTimeout(Duration starvationTimeout) {
+                this.starvationTimeout = starvationTimeout;
+            }
+        }
+    }
+
+    public static class MapProperties {
+        // Размер карты в клетках: x в 1..width, y в 1..height
+        private int width = 10;
+        private int height = 10;
+
+        public int getWidth() {
+            return width;
+        }
+
+        public void setWidth(int width) {
+            this.width = width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public void setHeight(int height) {
+            this.height = height;
+        }
+    }
+
+    public static class Outbox {
+        // Сколько сообщений релей захватывает и отмечает за одну транзакцию
+        private int pageSize = 100;
+        // Релей просыпается по NOTIFY из транзакции, записавшей сообщения, вместо опроса раз в секунду
+        private boolean listenNotify = false;
+        // Сообщения отправляются из памяти сразу после коммита транзакции, записавшей их в outbox
+        private boolean eagerRelay = false;
+        // Сколько транзакций может ждать отправки из памяти, остальное отправит Job
+        private int eagerRelayQueueCapacity = 1000;
+        // Страховочный опрос в режиме listen-notify: от min, удваивается на каждом пустом проходе до max
+        private Duration minPollInterval = Duration.ofMillis(500);
+        private Duration maxPollInterval = Duration.ofSeconds(30);
+        // Интеграционные события пишутся в outbox готовым protobuf и отправляются в Kafka без разбора JSON
+        private boolean binaryPayload = false;
+        // Сколько раз релей пытается отправить сообщение, прежде чем оставить его с ошибкой в outbox
+        private int maxAttempts = 20;
+        // Пауза перед повтором после неудачной попытки: от min, удваивается с каждой попыткой до max
+        private Duration retryMinBackoff = Duration.ofSeconds(1);
+        private Duration retryMaxBackoff = Duration.ofMinutes(5);
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        public boolean isListenNotify() {
+            return listenNotify;
+        }
+
+        public void setListenNotify(boolean listenNotify) {
+            this.listenNotify = listenNotify;
+        }
+
+        public boolean isEagerRelay() {
+            return eagerRelay;
+        }
+
+        public void setEagerRelay(boolean eagerRelay) {
+            this.eagerRelay = eagerRelay;
+        }
+
+        public int getEagerRelayQueueCapacity() {
+            return eagerRelayQueueCapacity;
+        }
+
+        public void setEagerRelayQueueCapacity(int eagerRelayQueueCapacity) {
+            this.eagerRelayQueueCapacity = eagerRelayQueueCapacity;
+        }
+
+        public Duration getMinPollInterval() {
+            return minPollInterval;
+        }
+
+        public void setMinPollInterval(Duration minPollInterval) {
+            this.minPollInterval = minPollInterval;
+        }
+
+        public Duration getMaxPollInterval() {
+            return maxPollInterval;
+        }
+
+        public void setMaxPollInterval(Duration maxPollInterval) {
+            this.maxPollInterval = maxPollInterval;
+        }
+
+        public boolean isBinaryPayload() {
+            return binaryPayload;
+        }
+
+        public void setBinaryPayload(boolean binaryPayload) {
+            this.binaryPayload = binaryPayload;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getRetryMinBackoff() {
+            return retryMinBackoff;
+        }
+
+        public void setRetryMinBackoff(Duration retryMinBackoff) {
+            this.retryMinBackoff = retryMinBackoff;
+        }
+
+        public Duration getRetryMaxBackoff() {
+            return retryMaxBackoff;
+        }
+
+        public void setRetryMaxBackoff(Duration retryMaxBackoff) {
+            this.retryMaxBackoff = retryMaxBackoff;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import microarch.delivery.adapters.in.http.api.MoveCourierApi;
 import microarch.delivery.adapters.in.http.model.Location;
 import microarch.delivery.core.application.commands.MoveCourierInLocationCommand;
 import microarch.delivery.core.application.commands.MoveCourierInLocationCommandHandler;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,6 +17,7 @@ import java.util.UUID;
 public class MoveCourierInLocationController implements MoveCourierApi {
 
     private final MoveCourierInLocationCommandHandler handler;
+    private final MapBounds mapBounds;
 
     @Override
     public ResponseEntity<Void> moveCourier(
@@ -23,7 +25,8 @@ public class MoveCourierInLocationController implements MoveCourierApi {
             Location location
     ) {
         // Формируем команду
-        var targetLocationResult = microarch.delivery.core.domain.model.kernel.Location.create(location.getX(), location.getY());
+        var targetLocationResult = microarch.delivery.core.domain.model.kernel.Location.create(location.getX(), location.getY(),
+                mapBounds);
         if (targetLocationResult.isFailure()) {
             return ResponseEntity.badRequest().build();
         }
@@ -20,16 +20,26 @@ public class BasketEventsConsumer {
         try {
             var event = BasketEventsProto.BasketConfirmedIntegrationEvent.parseFrom(message);
 
-            // Создаем команду
-            var createCommandResult = CreateOrderCommand.create(
-                    UUID.fromString(event.getBasketId()),
-                    event.getAddress().getCountry(),
-                    event.getAddress().getCity(),
-                    event.getAddress().getStreet(),
-                    event.getAddress().getHouse(),
-                    event.getAddress().getApartment(),
-                    event.getVolume()
-            );
+            // Создаем команду. Окно доставки нужно, чтобы срочные заказы распределялись первыми
+            var createCommandResult = event.hasDeliveryPeriod()
+                    ? CreateOrderCommand.create(
+                            UUID.fromString(event.getBasketId()),
+                            event.getAddress().getCountry(),
+                            event.getAddress().getCity(),
+                            event.getAddress().getStreet(),
+                            event.getAddress().getHouse(),
+                            event.getAddress().getApartment(),
+                            event.getVolume(),
+                            event.getDeliveryPeriod().getFrom(),
+                            event.getDeliveryPeriod().getTo())
+                    : CreateOrderCommand.create(
+                            UUID.fromString(event.getBasketId()),
+                            event.getAddress().getCountry(),
+                            event.getAddress().getCity(),
+                            event.getAddress().getStreet(),
+                            event.getAddress().getHouse(),
+                            event.getAddress().getApartment(),
+                            event.getVolume());
             if (createCommandResult.isFailure()) {
                 throw new RuntimeException("Invalid command: " + createCommandResult.getError());
             }
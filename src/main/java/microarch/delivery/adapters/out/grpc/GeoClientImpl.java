@@ -8,6 +8,7 @@ import jakarta.annotation.PreDestroy;
 import microarch.delivery.ApplicationProperties;
 import microarch.delivery.core.domain.model.kernel.Address;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.ports.GeoClient;
 import org.springframework.stereotype.Service;
 
@@ -17,8 +18,10 @@ import java.util.Objects;
 public class GeoClientImpl implements GeoClient {
     private final ManagedChannel channel;
     private final GeoGrpc.GeoBlockingStub stub;
+    private final MapBounds mapBounds;
 
-    public GeoClientImpl(ApplicationProperties properties) {
+    public GeoClientImpl(ApplicationProperties properties, MapBounds mapBounds) {
+        this.mapBounds = mapBounds;
         this.channel = ManagedChannelBuilder.forAddress(properties.getGrpc().getGeoService().getHost(),
                 properties.getGrpc().getGeoService().getPort()).usePlaintext().build();
         this.stub = GeoGrpc.newBlockingStub(channel);
@@ -39,6 +42,6 @@ public class GeoClientImpl implements GeoClient {
 
         var response = stub.getGeolocation(request).getLocation();
 
-        return Location.mustCreate(response.getX(), response.getX());
+        return Location.mustCreate(response.getX(), response.getY(), mapBounds);
     }
 }
@@ -1,14 +1,22 @@
 package microarch.delivery.adapters.out.kafka;
 
+import com.google.protobuf.InvalidProtocolBufferException;
+import libs.ddd.DomainEvent;
 import lombok.RequiredArgsConstructor;
 import microarch.delivery.core.domain.model.order.event.OrderCompletedDomainEvent;
 import microarch.delivery.core.domain.model.order.event.OrderCreatedDomainEvent;
 import microarch.delivery.core.ports.OrderEventsProducer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 import queues.order.events.OrderEventsProto;
 
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 @Component
 @RequiredArgsConstructor
 public class OrderEventsProducerImpl implements OrderEventsProducer {
@@ -19,19 +27,61 @@ public class OrderEventsProducerImpl implements OrderEventsProducer {
 
     @Override
     public void publish(OrderCreatedDomainEvent event) {
-        var integrationEvent = OrderEventsProto.OrderCreatedIntegrationEvent
-                .newBuilder()
-                .setOrderId(event.getOrderId().toString())
-                .build();
-        kafkaTemplate.send(topic, event.getOrderId().toString(), integrationEvent.toByteArray());
+        send(event.getOrderId().toString(), toIntegrationMessage(event));
     }
 
     @Override
     public void publish(OrderCompletedDomainEvent event) {
-        var integrationEvent = OrderEventsProto.OrderCompletedIntegrationEvent.newBuilder()
+        send(event.getOrderId().toString(), toIntegrationMessage(event));
+    }
+
+    /**
+     * Готовое интеграционное сообщение для события, которое публикуется в Kafka.
+     * Пусто - событие остается внутри сервиса.
+     */
+    public Optional<byte[]> toIntegrationMessage(DomainEvent event) {
+        if (event instanceof OrderCreatedDomainEvent created)
+            return Optional.of(toIntegrationMessage(created));
+        if (event instanceof OrderCompletedDomainEvent completed)
+            return Optional.of(toIntegrationMessage(completed));
+        return Optional.empty();
+    }
+
+    /**
+     * Доменное событие типа type, восстановленное из сообщения toIntegrationMessage, с исходными id и временем.
+     */
+    public DomainEvent fromIntegrationMessage(Class<?> type, UUID eventId, Instant occurredOnUtc,
+            byte[] integrationMessage) throws InvalidProtocolBufferException {
+        if (type == OrderCreatedDomainEvent.class) {
+            var message = OrderEventsProto.OrderCreatedIntegrationEvent.parseFrom(integrationMessage);
+            return new OrderCreatedDomainEvent(eventId, occurredOnUtc, UUID.fromString(message.getOrderId()));
+        }
+        if (type == OrderCompletedDomainEvent.class) {
+            var message = OrderEventsProto.OrderCompletedIntegrationEvent.parseFrom(integrationMessage);
+            return new OrderCompletedDomainEvent(eventId, occurredOnUtc, UUID.fromString(message.getOrderId()),
+                    UUID.fromString(message.getCourierId()));
+        }
+        throw new IllegalArgumentException("No integration message for event type " + type.getName());
+    }
+
+    // Ключ сообщения - id заказа. Future завершается подтверждением брокера или ошибкой отправки
+    public CompletableFuture<SendResult<String, byte[]>> send(String key, byte[] integrationMessage) {
+        return kafkaTemplate.send(topic, key, integrationMessage);
+    }
+
+    private static byte[] toIntegrationMessage(OrderCreatedDomainEvent event) {
+        return OrderEventsProto.OrderCreatedIntegrationEvent
+                .newBuilder()
+                .setOrderId(event.getOrderId().toString())
+                .build()
+                .toByteArray();
+    }
+
+    private static byte[] toIntegrationMessage(OrderCompletedDomainEvent event) {
+        return OrderEventsProto.OrderCompletedIntegrationEvent.newBuilder()
                 .setOrderId(event.getOrderId().toString())
                 .setCourierId(event.getCourierId().toString())
-                .build();
-        kafkaTemplate.send(topic, event.getOrderId().toString(), integrationEvent.toByteArray());
+                .build()
+                .toByteArray();
     }
 }
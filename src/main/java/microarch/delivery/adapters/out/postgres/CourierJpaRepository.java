@@ -3,23 +3,76 @@ package microarch.delivery.adapters.out.postgres;
 import microarch.delivery.core.domain.model.courier.Courier;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface CourierJpaRepository extends JpaRepository<Courier, UUID> {
 
+    // Захват курьеров с подходящим пустым местом хранения: строки остаются заблокированными до конца транзакции,
+    // а заблокированные другими распределителями пропускаются без ожидания.
+    // Захватываются не больше limit курьеров, быстрее всех доезжающих до точки (x, y): время в тиках
+    // считается как Speed.ticksToCover. Остальные курьеры достаются параллельным распределителям.
+    // includeBusy - режим нескольких заказов у курьера.
+    // Свободных курьеров вместе со скоростью и координатами отдает частичный индекс ix_courier_available_position
+    // (index-only scan), из них отбираются limit лучших; места хранения проверяет ix_storage_place_free_volume
+    @Query(value = """
+        SELECT c.id
+        FROM courier c
+        WHERE (:includeBusy OR c.busy = false)
+          AND EXISTS (
+              SELECT 1
+              FROM storage_place sp
+              WHERE sp.courier_id = c.id
+                AND sp.order_id IS NULL
+                AND sp.volume >= :volume
+          )
+        ORDER BY (ABS(c.location_x - :x) + ABS(c.location_y - :y) + c.speed - 1) / c.speed, c.id
+        LIMIT :limit
+        FOR UPDATE OF c SKIP LOCKED
+    """, nativeQuery = true)
+    List<UUID> claimIdsWithFreeVolume(@Param("volume") int volume,
+                                      @Param("includeBusy") boolean includeBusy,
+                                      @Param("x") int x,
+                                      @Param("y") int y,
+                                      @Param("limit") int limit);
+
+    // То же для курьеров из заданных регионов (формула RegionGrid.regionOf)
+    @Query(value = """
+        SELECT c.id
+        FROM courier c
+        WHERE (:includeBusy OR c.busy = false)
+          AND (c.location_x - 1) / :tileSize + ((c.location_y - 1) / :tileSize) * :tilesPerRow IN (:regions)
+          AND EXISTS (
+              SELECT 1
+              FROM storage_place sp
+              WHERE sp.courier_id = c.id
+                AND sp.order_id IS NULL
+                AND sp.volume >= :volume
+          )
+        ORDER BY (ABS(c.location_x - :x) + ABS(c.location_y - :y) + c.speed - 1) / c.speed, c.id
+        LIMIT :limit
+        FOR UPDATE OF c SKIP LOCKED
+    """, nativeQuery = true)
+    List<UUID> claimIdsWithFreeVolumeInRegions(@Param("volume") int volume,
+                                               @Param("includeBusy") boolean includeBusy,
+                                               @Param("tileSize") int tileSize,
+                                               @Param("tilesPerRow") int tilesPerRow,
+                                               @Param("regions") Collection<Integer> regions,
+                                               @Param("x") int x,
+                                               @Param("y") int y,
+                                               @Param("limit") int limit);
+
+    // Курьеры вместе с местами хранения одним запросом, без отдельного SELECT на каждого курьера
     @Query(
     """
-        SELECT c
+        SELECT DISTINCT c
         FROM Courier c
-        WHERE NOT EXISTS (
-            SELECT 1
-            FROM StoragePlace sp
-            WHERE sp MEMBER OF c.storagePlaces
-            AND sp.orderId IS NOT NULL
-        )
+        LEFT JOIN FETCH c.storagePlaces
+        WHERE c.id IN :ids
     """
     )
-    List<Courier> findAllAvailable();
+    List<Courier> findAllByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -2,9 +2,13 @@ package microarch.delivery.adapters.out.postgres;
 
 import lombok.AllArgsConstructor;
 import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.Volume;
+import microarch.delivery.core.domain.services.RegionGrid;
 import microarch.delivery.core.ports.CourierRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,13 +24,37 @@ public class CourierRepositoryImpl implements CourierRepository {
         return jpa.save(courier);
     }
 
+    @Override
+    public List<Courier> saveAll(Collection<Courier> couriers) {
+        return jpa.saveAll(couriers);
+    }
+
     @Override
     public Optional<Courier> findById(UUID courierId) {
         return jpa.findById(courierId);
     }
 
     @Override
-    public List<Courier> findAllAvailable() {
-        return jpa.findAllAvailable();
+    public List<Courier> findAllByIds(Collection<UUID> courierIds) {
+        if (courierIds.isEmpty())
+            return List.of();
+        return jpa.findAllByIdIn(courierIds);
+    }
+
+    // Блокируются только строки курьеров, места хранения подгружаются следующим запросом:
+    // FOR UPDATE нельзя применить к внешнему соединению с fetch-коллекцией
+    @Override
+    public List<Courier> claimWithFreeVolume(Volume orderVolume, boolean includeBusy, Location near, int limit) {
+        return findAllByIds(jpa.claimIdsWithFreeVolume(orderVolume.getValue(), includeBusy,
+                near.getX(), near.getY(), limit));
+    }
+
+    @Override
+    public List<Courier> claimInRegions(RegionGrid grid, Collection<Integer> regions, Volume orderVolume,
+            boolean includeBusy, Location near, int limit) {
+        if (regions.isEmpty())
+            return List.of();
+        return findAllByIds(jpa.claimIdsWithFreeVolumeInRegions(orderVolume.getValue(), includeBusy,
+                grid.getTileSize(), grid.getTilesPerRow(), regions, near.getX(), near.getY(), limit));
     }
 }
@@ -0,0 +1,29 @@
+package microarch.delivery.adapters.out.postgres;
+
+import lombok.RequiredArgsConstructor;
+import microarch.delivery.core.ports.JobLeaseRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+@Repository
+@RequiredArgsConstructor
+public class JobLeaseRepositoryImpl implements JobLeaseRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean tryAcquire(String name, Duration interval) {
+        // Строку лиза блокирует первый экземпляр, остальные дождутся его коммита и увидят сдвинутый срок.
+        // Новый срок всегда лежит в будущем на целый интервал: даже если задача долго не запускалась,
+        // отстающий экземпляр не получит второй запуск сразу за первым
+        var seconds = interval.toMillis() / 1000.0;
+        return jdbcTemplate.update("""
+            INSERT INTO job_lease (name, next_run_at)
+            VALUES (?, now() + make_interval(secs => ?))
+            ON CONFLICT (name) DO UPDATE
+                SET next_run_at = GREATEST(job_lease.next_run_at, now()) + make_interval(secs => ?)
+                WHERE job_lease.next_run_at <= now()
+        """, name, seconds, seconds) == 1;
+    }
+}
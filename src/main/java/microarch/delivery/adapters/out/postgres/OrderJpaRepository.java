@@ -3,13 +3,58 @@ package microarch.delivery.adapters.out.postgres;
 import microarch.delivery.core.domain.model.order.Order;
 import microarch.delivery.core.domain.model.order.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 public interface OrderJpaRepository extends JpaRepository<Order, UUID> {
-    Optional<Order> findFirstByStatus(OrderStatus status);
-
     List<Order> findAllByStatus(OrderStatus status);
+
+    // Захват заказов для распределения: строки остаются заблокированными до конца транзакции,
+    // а заблокированные другими распределителями пропускаются без ожидания.
+    // Первыми идут заказы с ближайшим концом окна доставки, заказы без окна - по времени создания.
+    // Порядок поддерживает индекс ix_orders_created_due (см. schema.sql)
+    @Query(value = """
+        SELECT o.*
+        FROM orders o
+        WHERE o.status = :status
+        ORDER BY COALESCE(o.delivery_deadline, o.created_at) NULLS FIRST
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<Order> claimAllByStatus(@Param("status") String status, @Param("limit") int limit);
+
+    // Регион считается по формуле RegionGrid.regionOf
+    @Query(value = """
+        SELECT o.*
+        FROM orders o
+        WHERE o.status = :status
+          AND (o.location_x - 1) / :tileSize + ((o.location_y - 1) / :tileSize) * :tilesPerRow IN (:regions)
+        ORDER BY COALESCE(o.delivery_deadline, o.created_at) NULLS FIRST
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<Order> claimAllByStatusInRegions(@Param("status") String status,
+                                          @Param("tileSize") int tileSize,
+                                          @Param("tilesPerRow") int tilesPerRow,
+                                          @Param("regions") Collection<Integer> regions,
+                                          @Param("limit") int limit);
+
+    // Заказы, созданные до появления created_at, считаются давними
+    @Query(value = """
+        SELECT o.*
+        FROM orders o
+        WHERE o.status = :status
+          AND (o.created_at IS NULL OR o.created_at < :before)
+        ORDER BY COALESCE(o.delivery_deadline, o.created_at) NULLS FIRST
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<Order> claimAllByStatusCreatedBefore(@Param("status") String status,
+                                              @Param("before") Instant before,
+                                              @Param("limit") int limit);
 }
@@ -3,9 +3,12 @@ package microarch.delivery.adapters.out.postgres;
 import lombok.AllArgsConstructor;
 import microarch.delivery.core.domain.model.order.Order;
 import microarch.delivery.core.domain.model.order.OrderStatus;
+import microarch.delivery.core.domain.services.RegionGrid;
 import microarch.delivery.core.ports.OrderRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,14 +23,32 @@ public class OrderRepositoryImpl implements OrderRepository {
         return jpa.save(order);
     }
 
+    @Override
+    public List<Order> saveAll(Collection<Order> orders) {
+        return jpa.saveAll(orders);
+    }
+
     @Override
     public Optional<Order> findById(UUID orderId) {
         return jpa.findById(orderId);
     }
 
     @Override
-    public Optional<Order> findAnyCreated() {
-        return jpa.findFirstByStatus(OrderStatus.CREATED);
+    public List<Order> claimCreated(int limit) {
+        return jpa.claimAllByStatus(OrderStatus.CREATED.name(), limit);
+    }
+
+    @Override
+    public List<Order> claimCreatedInRegions(RegionGrid grid, Collection<Integer> regions, int limit) {
+        if (regions.isEmpty())
+            return List.of();
+        return jpa.claimAllByStatusInRegions(OrderStatus.CREATED.name(), grid.getTileSize(),
+                grid.getTilesPerRow(), regions, limit);
+    }
+
+    @Override
+    public List<Order> claimCreatedBefore(Instant before, int limit) {
+        return jpa.claimAllByStatusCreatedBefore(OrderStatus.CREATED.name(), before, limit);
     }
 
     @Override
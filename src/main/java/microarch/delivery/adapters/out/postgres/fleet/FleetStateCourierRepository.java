@@ -0,0 +1,298 @@
+package microarch.delivery.adapters.out.postgres.fleet;
+
+import lombok.extern.slf4j.Slf4j;
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.adapters.out.postgres.CourierJpaRepository;
+import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.Volume;
+import microarch.delivery.core.domain.services.RegionGrid;
+import microarch.delivery.core.ports.CourierRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Состояние парка курьеров в памяти с пакетной записью в Postgres.
+ * Курьеры загружаются из базы один раз, дальше чтение и захват курьеров идут по зафиксированному состоянию в памяти.
+ * Каждая транзакция получает свои копии курьеров и держит блокировку каждого выданного курьера до завершения,
+ * так что параллельные транзакции не назначат одного курьера дважды.
+ * Сохраненные транзакцией курьеры пишутся в базу перед ее коммитом одним JDBC-батчем на таблицу,
+ * поэтому курьеры и заказы фиксируются вместе. Состоянием парка копии становятся только после коммита.
+ * Новые курьеры и курьеры с новыми местами хранения пишутся в базу сразу.
+ * Состояние в памяти не видит изменений других экземпляров, поэтому режим работает только в одном экземпляре
+ * и несовместим с шардированием распределения по регионам (app.dispatch.regions).
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(prefix = "app.fleet-state", name = "enabled", havingValue = "true")
+public class FleetStateCourierRepository implements CourierRepository {
+
+    private static final String UPDATE_COURIER_SQL =
+            "UPDATE courier SET name = ?, speed = ?, location_x = ?, location_y = ?, busy = ? WHERE id = ?";
+    private static final String UPDATE_STORAGE_PLACE_SQL =
+            "UPDATE storage_place SET order_id = ? WHERE id = ?";
+
+    private final CourierJpaRepository jpa;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    // Зафиксированное состояние: экземпляры не выдаются наружу и не меняются, а заменяются целиком после коммита
+    private final Map<UUID, Courier> couriers = new ConcurrentHashMap<>();
+    // Сколько мест хранения курьера уже есть в базе - новые места нельзя записать UPDATE-ом
+    private final Map<UUID, Integer> persistedStoragePlaces = new ConcurrentHashMap<>();
+    private final Map<UUID, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public FleetStateCourierRepository(ApplicationProperties properties, CourierJpaRepository jpa,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        var regions = properties.getDispatch().getRegions();
+        if (regions.isEnabled() || !regions.getClaimed().isEmpty())
+            throw new IllegalStateException(
+                    "app.fleet-state.enabled cannot be combined with app.dispatch.regions: "
+                            + "fleet state in memory is valid only for a single service instance");
+        this.jpa = jpa;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public Courier save(Courier courier) {
+        ensureLoaded();
+        var tx = currentTransaction();
+        var known = couriers.get(courier.getId());
+        var persistedPlaces = persistedStoragePlaces.get(courier.getId());
+        if (known == null || persistedPlaces == null || persistedPlaces != courier.getStoragePlaces().size()) {
+            // Новые строки пишем сразу, отложенная запись умеет только UPDATE
+            jpa.save(courier);
+            if (tx == null)
+                remember(courier.copy());
+            else
+                tx.written.put(courier.getId(), courier);
+            return courier;
+        }
+
+        if (tx == null) {
+            requiresNew.executeWithoutResult(status -> write(List.of(courier)));
+            commit(courier);
+        } else {
+            tx.saved.put(courier.getId(), courier);
+        }
+        return courier;
+    }
+
+    @Override
+    public List<Courier> saveAll(Collection<Courier> couriers) {
+        return couriers.stream().map(this::save).toList();
+    }
+
+    @Override
+    public Optional<Courier> findById(UUID courierId) {
+        ensureLoaded();
+        var tx = currentTransaction();
+        if (tx == null)
+            return committed(courierId).map(Courier::copy);
+
+        var own = tx.copies.get(courierId);
+        if (own != null)
+            return Optional.of(own);
+
+        tx.lock(courierId);
+        return committed(courierId).map(tx::copyOf);
+    }
+
+    @Override
+    public List<Courier> findAllByIds(Collection<UUID> courierIds) {
+        // Блокировки берем в одном порядке, чтобы две транзакции не ждали друг друга
+        return courierIds.stream()
+                .sorted()
+                .map(this::findById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    // Как FOR UPDATE SKIP LOCKED: курьеры, выданные другим транзакциям, пропускаются без ожидания
+    @Override
+    public List<Courier> claimWithFreeVolume(Volume orderVolume, boolean includeBusy, Location near, int limit) {
+        return claim(courier -> (includeBusy || courier.hasNoActiveOrders()) && courier.canPlaceOrder(orderVolume),
+                near, limit);
+    }
+
+    @Override
+    public List<Courier> claimInRegions(RegionGrid grid, Collection<Integer> regions, Volume orderVolume,
+            boolean includeBusy, Location near, int limit) {
+        return claim(courier -> (includeBusy || courier.hasNoActiveOrders())
+                && courier.canPlaceOrder(orderVolume)
+                && regions.contains(grid.regionOf(courier.getLocation())), near, limit);
+    }
+
+    private List<Courier> claim(Predicate<Courier> fits, Location near, int limit) {
+        ensureLoaded();
+        var tx = currentTransaction();
+        var claimed = new ArrayList<Courier>();
+        for (var candidate : fastest(couriers.values().stream().filter(fits), near, couriers.size())) {
+            if (claimed.size() >= limit)
+                break;
+            if (tx == null) {
+                claimed.add(candidate.copy());
+                continue;
+            }
+            var own = tx.copies.get(candidate.getId());
+            if (own != null) {
+                if (fits.test(own))
+                    claimed.add(own);
+                continue;
+            }
+            if (!tx.tryLock(candidate.getId()))
+                continue;
+            // Пока ждали блокировку, курьера могла изменить другая транзакция
+            var current = couriers.get(candidate.getId());
+            if (current != null && fits.test(current))
+                claimed.add(tx.copyOf(current));
+        }
+        return claimed;
+    }
+
+    // Тот же порядок, что у захвата в базе: быстрее всех доезжающие до точки, при равном времени - по id
+    private static List<Courier> fastest(Stream<Courier> couriers, Location near, int limit) {
+        return couriers
+                .sorted(Comparator.<Courier>comparingInt(courier -> courier.deliveryTimeTo(near))
+                        .thenComparing(Courier::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    // Один JDBC-батч на таблицу. В транзакции вызывающего кода JdbcTemplate работает в том же соединении
+    private void write(Collection<Courier> changed) {
+        var courierRows = new ArrayList<Object[]>(changed.size());
+        var storagePlaceRows = new ArrayList<Object[]>(changed.size());
+        for (var courier : changed) {
+            courierRows.add(new Object[] { courier.getName(), courier.getSpeed().getValue(),
+                    courier.getLocation().getX(), courier.getLocation().getY(), courier.isBusy(), courier.getId() });
+            for (var storagePlace : courier.getStoragePlaces()) {
+                storagePlaceRows.add(new Object[] { storagePlace.getOrderId(), storagePlace.getId() });
+            }
+        }
+        jdbcTemplate.batchUpdate(UPDATE_COURIER_SQL, courierRows);
+        jdbcTemplate.batchUpdate(UPDATE_STORAGE_PLACE_SQL, storagePlaceRows);
+    }
+
+    private Optional<Courier> committed(UUID courierId) {
+        var courier = couriers.get(courierId);
+        if (courier != null)
+            return Optional.of(courier);
+
+        // Курьера нет в памяти (например, создан другим экземпляром) - перечитываем из базы
+        var loadedCourier = requiresNew.execute(status -> jpa.findById(courierId));
+        loadedCourier.ifPresent(this::remember);
+        return loadedCourier;
+    }
+
+    // Публикуем копию: вызывающий код может продолжать менять свой экземпляр после коммита
+    private void commit(Courier courier) {
+        couriers.put(courier.getId(), courier.copy());
+    }
+
+    private FleetTransaction currentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return null;
+        var tx = (FleetTransaction) TransactionSynchronizationManager.getResource(this);
+        if (tx == null) {
+            tx = new FleetTransaction();
+            TransactionSynchronizationManager.bindResource(this, tx);
+            TransactionSynchronizationManager.registerSynchronization(tx);
+        }
+        return tx;
+    }
+
+    private void ensureLoaded() {
+        if (loaded)
+            return;
+        synchronized (this) {
+            if (loaded)
+                return;
+            // Отдельная транзакция, чтобы курьеры не остались управляемыми в контексте вызывающего обработчика
+            var all = requiresNew.execute(status -> jpa.findAll());
+            all.forEach(this::remember);
+            loaded = true;
+            log.info("Fleet state loaded: {} couriers", all.size());
+        }
+    }
+
+    private void remember(Courier courier) {
+        couriers.put(courier.getId(), courier);
+        persistedStoragePlaces.put(courier.getId(), courier.getStoragePlaces().size());
+    }
+
+    /**
+     * Копии курьеров и блокировки одной транзакции.
+     */
+    private final class FleetTransaction implements TransactionSynchronization {
+        private final Map<UUID, Courier> copies = new HashMap<>();
+        private final Map<UUID, Courier> saved = new LinkedHashMap<>();
+        private final Map<UUID, Courier> written = new LinkedHashMap<>();
+        private final List<ReentrantLock> held = new ArrayList<>();
+
+        void lock(UUID courierId) {
+            var lock = locks.computeIfAbsent(courierId, id -> new ReentrantLock());
+            lock.lock();
+            held.add(lock);
+        }
+
+        boolean tryLock(UUID courierId) {
+            var lock = locks.computeIfAbsent(courierId, id -> new ReentrantLock());
+            if (!lock.tryLock())
+                return false;
+            held.add(lock);
+            return true;
+        }
+
+        Courier copyOf(Courier committed) {
+            var copy = committed.copy();
+            copies.put(copy.getId(), copy);
+            return copy;
+        }
+
+        // Строки курьеров попадают в базу в той же транзакции, что и заказы: падение после коммита их не теряет
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!saved.isEmpty())
+                write(saved.values());
+        }
+
+        @Override
+        public void afterCommit() {
+            written.values().forEach(courier -> remember(courier.copy()));
+            saved.values().forEach(FleetStateCourierRepository.this::commit);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            // При откате копии просто выбрасываются - зафиксированное состояние они не меняли
+            TransactionSynchronizationManager.unbindResourceIfPossible(FleetStateCourierRepository.this);
+            held.forEach(ReentrantLock::unlock);
+        }
+    }
+}
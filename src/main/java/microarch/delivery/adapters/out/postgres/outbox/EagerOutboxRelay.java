@@ -0,0 +1,123 @@
+package microarch.delivery.adapters.out.postgres.outbox;
+
+import jakarta.annotation.PreDestroy;
+import libs.ddd.DomainEvent;
+import lombok.extern.slf4j.Slf4j;
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.adapters.out.kafka.OrderEventsProducerImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Отправляет события, только что записанные в outbox, прямо из памяти - без ожидания Job
+ * и без повторного чтения и десериализации payload.
+ * Сообщения захватываются теми же FOR UPDATE SKIP LOCKED, что и у Job, поэтому одно сообщение
+ * не отправят оба релея. Неотправленное остается в outbox, и его подберет Job.
+ * Сообщение с готовым protobuf (app.outbox.binary-payload) уходит в Kafka как есть и отмечается
+ * после подтверждения брокера, а доменное событие публикуется внутри сервиса.
+ * Отправка идет в отдельном потоке с ограниченной очередью: бизнес-поток не ждет Kafka
+ * и не держит второе соединение из пула. Не поместившееся в очередь отправит Job.
+ */
+@Slf4j
+@Component
+public class EagerOutboxRelay {
+    private final ApplicationEventPublisher publisher;
+    private final OutboxJpaRepository jpa;
+    private final OrderEventsProducerImpl producer;
+    private final TransactionTemplate requiresNew;
+    private final ThreadPoolExecutor executor;
+
+    public EagerOutboxRelay(ApplicationEventPublisher publisher, OutboxJpaRepository jpa,
+            OrderEventsProducerImpl producer, PlatformTransactionManager transactionManager,
+            ApplicationProperties properties) {
+        this.publisher = publisher;
+        this.jpa = jpa;
+        this.producer = producer;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getOutbox().getEagerRelayQueueCapacity())),
+                runnable -> {
+                    var thread = new Thread(runnable, "eager-outbox-relay");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Ставит отправку в очередь релея. Вызывается из afterCommit бизнес-транзакции и не блокирует ее поток.
+     */
+    public void submit(Map<UUID, Pending> events) {
+        try {
+            executor.execute(() -> relay(events));
+        } catch (RejectedExecutionException e) {
+            // Очередь переполнена - сообщения уже в outbox, их отправит Job
+            log.debug("Eager outbox relay queue is full, {} messages are left to the outbox job", events.size());
+        }
+    }
+
+    /**
+     * events - записанные сообщения outbox по id вместе с исходными доменными событиями.
+     */
+    public void relay(Map<UUID, Pending> events) {
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                var claimed = new HashSet<>(jpa.claimUnprocessedIds(events.keySet()));
+                var sent = new LinkedHashMap<UUID, CompletableFuture<?>>();
+                // Отправляем в порядке возникновения событий
+                for (var entry : events.entrySet()) {
+                    if (!claimed.contains(entry.getKey()))
+                        continue;
+                    try {
+                        var message = entry.getValue().message();
+                        publisher.publishEvent(entry.getValue().event());
+                        sent.put(entry.getKey(), message.hasPayloadBytes()
+                                ? producer.send(message.getAggregateId(), message.getPayloadBytes())
+                                : CompletableFuture.completedFuture(null));
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to publish outbox message {}: {}", entry.getKey(), e.getMessage());
+                    }
+                }
+                // Отмечаем только сообщения, которые подтвердил брокер, остальные отправит Job
+                var processed = new ArrayList<UUID>(sent.size());
+                sent.forEach((id, future) -> {
+                    try {
+                        future.join();
+                        processed.add(id);
+                    } catch (CompletionException e) {
+                        log.warn("Failed to send outbox message {}: {}", id, e.getCause().getMessage());
+                    }
+                });
+                if (!processed.isEmpty())
+                    jpa.markAsProcessed(processed, Instant.now());
+            });
+        } catch (RuntimeException e) {
+            // Бизнес-транзакция уже закоммичена, сообщения отправит Job
+            log.warn("Eager outbox relay failed, messages are left to the outbox job: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public record Pending(OutboxMessage message, DomainEvent event) {
+    }
+}
@@ -1,43 +1,137 @@
 package microarch.delivery.adapters.out.postgres.outbox;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import libs.ddd.DomainEvent;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.adapters.out.kafka.OrderEventsProducerImpl;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Релей outbox: разбирает необработанные сообщения страницами по app.outbox.page-size.
+ * Каждая страница захватывается (FOR UPDATE SKIP LOCKED), публикуется и отмечается одним UPDATE
+ * в своей транзакции, поэтому несколько экземпляров разбирают очередь параллельно,
+ * а после простоя Kafka в памяти не оказывается весь накопленный хвост.
+ * В режиме app.outbox.listen-notify релей запускает OutboxNotificationListener, а не опрос раз в секунду.
+ * Сообщения с готовым protobuf (payload_bytes) отправляются в Kafka как есть и отмечаются только после
+ * подтверждения брокера, а доменное событие для публикации внутри сервиса восстанавливается из того же protobuf.
+ * Неудачная попытка откладывает сообщение с растущей паузой, а после app.outbox.max-attempts попыток
+ * сообщение остается в outbox с последней ошибкой и больше не захватывается.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class Job {
     private final ApplicationEventPublisher publisher;
     private final OutboxJpaRepository jpa;
-    private final ObjectMapper objectMapper;
+    private final OutboxEventTypes eventTypes;
+    private final OrderEventsProducerImpl producer;
+    private final TransactionTemplate transaction;
+    private final int pageSize;
+    private final boolean polling;
+    private final int maxAttempts;
+    private final double minBackoffSeconds;
+    private final double maxBackoffSeconds;
+
+    public Job(ApplicationEventPublisher publisher, OutboxJpaRepository jpa, OutboxEventTypes eventTypes,
+            OrderEventsProducerImpl producer, PlatformTransactionManager transactionManager,
+            ApplicationProperties properties) {
+        this.publisher = publisher;
+        this.jpa = jpa;
+        this.eventTypes = eventTypes;
+        this.producer = producer;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.pageSize = Math.max(1, properties.getOutbox().getPageSize());
+        this.polling = !properties.getOutbox().isListenNotify();
+        this.maxAttempts = Math.max(1, properties.getOutbox().getMaxAttempts());
+        this.minBackoffSeconds = properties.getOutbox().getRetryMinBackoff().toMillis() / 1000.0;
+        this.maxBackoffSeconds = properties.getOutbox().getRetryMaxBackoff().toMillis() / 1000.0;
+    }
 
     @Scheduled(fixedDelay = 1000)
     public void run() {
-        var outboxMessages = jpa.findUnprocessedMessages();
-        for (var outboxMessage : outboxMessages) {
-            try {
-                // Динамически находим класс события
-                var eventClassName = outboxMessage.getEventType();
-                var eventClass = Class.forName(eventClassName);
-                var eventObject = objectMapper.readValue(outboxMessage.getPayload(), eventClass);
+        if (polling)
+            relay();
+    }
 
-                // Проверяем, что это DomainEvent
-                if (!(eventObject instanceof DomainEvent domainEvent)) {
-                    throw new IllegalStateException("Invalid outbox message type: " + eventClass);
-                }
+    /**
+     * Разбирает накопленные сообщения, пока страницы приходят полными. Возвращает число отправленных.
+     */
+    public int relay() {
+        int relayed = 0;
+        Page page;
+        do {
+            page = transaction.execute(status -> relayPage());
+            relayed += page.processed();
+            // Неполная страница - хвост разобран или его держат другие релеи.
+            // Страница, из которой ничего не удалось отправить, повторится только на следующем запуске
+        } while (page.claimed() == pageSize && page.processed() > 0);
+        return relayed;
+    }
 
+    private Page relayPage() {
+        var outboxMessages = jpa.claimUnprocessedMessages(pageSize, maxAttempts);
+        // Отправки в Kafka идут параллельно, сообщение считается обработанным после подтверждения брокера
+        var sent = new LinkedHashMap<OutboxMessage, CompletableFuture<?>>();
+        for (var outboxMessage : outboxMessages) {
+            try {
                 // Публикуем доменное событие
-                publisher.publishEvent(domainEvent);
+                publisher.publishEvent(toDomainEvent(outboxMessage));
 
-                // Отмечаем как отправленное
-                outboxMessage.markAsProcessed();
-                jpa.save(outboxMessage);
+                // Интеграционное сообщение уже собрано и уходит в Kafka как есть
+                sent.put(outboxMessage, outboxMessage.hasPayloadBytes()
+                        ? producer.send(outboxMessage.getAggregateId(), outboxMessage.getPayloadBytes())
+                        : CompletableFuture.completedFuture(null));
             } catch (Exception e) {
-                System.err.println("Failed to publish outbox message: " + e.getMessage());
+                // Сообщение останется необработанным и будет захвачено после паузы
+                markAsFailed(outboxMessage, e);
             }
         }
+
+        // Ожидание ограничено delivery.timeout.ms продюсера
+        var processed = new ArrayList<UUID>(sent.size());
+        sent.forEach((outboxMessage, future) -> {
+            try {
+                future.join();
+                processed.add(outboxMessage.getId());
+            } catch (CompletionException e) {
+                markAsFailed(outboxMessage, e.getCause());
+            }
+        });
+
+        // Отмечаем отправленные сообщения страницы разом
+        if (!processed.isEmpty())
+            jpa.markAsProcessed(processed, Instant.now());
+        return new Page(outboxMessages.size(), processed.size());
+    }
+
+    private DomainEvent toDomainEvent(OutboxMessage outboxMessage) throws Exception {
+        if (outboxMessage.hasPayloadBytes())
+            return producer.fromIntegrationMessage(eventTypes.typeOf(outboxMessage.getEventType()),
+                    outboxMessage.getId(), outboxMessage.getOccurredOnUtc(), outboxMessage.getPayloadBytes());
+
+        // Читатель Jackson для типа события построен заранее, реестр проверяет, что это DomainEvent
+        return eventTypes.readerFor(outboxMessage.getEventType()).readValue(outboxMessage.getPayload());
+    }
+
+    private void markAsFailed(OutboxMessage outboxMessage, Throwable e) {
+        jpa.markAsFailed(outboxMessage.getId(), e.toString(), minBackoffSeconds, maxBackoffSeconds);
+        if (outboxMessage.getAttempts() + 1 >= maxAttempts)
+            log.error("Outbox message {} exhausted {} attempts and is left unprocessed", outboxMessage.getId(),
+                    maxAttempts, e);
+        else
+            log.warn("Failed to publish outbox message {}: {}", outboxMessage.getId(), e.getMessage());
+    }
+
+    private record Page(int claimed, int processed) {
     }
-}
\ No newline at end of file
+}
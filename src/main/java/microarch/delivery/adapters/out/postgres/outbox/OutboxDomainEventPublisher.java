@@ -1,47 +1,94 @@
 package microarch.delivery.adapters.out.postgres.outbox;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import libs.ddd.Aggregate;
 import libs.ddd.AggregateRoot;
+import libs.ddd.DomainEvent;
 import libs.ddd.DomainEventPublisher;
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.adapters.out.kafka.OrderEventsProducerImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public class OutboxDomainEventPublisher implements DomainEventPublisher {
     private final OutboxJpaRepository jpa;
-    private final ObjectMapper objectMapper;
+    private final OutboxEventTypes eventTypes;
+    private final JdbcTemplate jdbcTemplate;
+    private final EagerOutboxRelay eagerRelay;
+    private final OrderEventsProducerImpl producer;
+    private final boolean eager;
+    private final boolean notifyRelay;
+    private final boolean binaryPayload;
 
-    public OutboxDomainEventPublisher(OutboxJpaRepository jpa, ObjectMapper objectMapper) {
+    public OutboxDomainEventPublisher(OutboxJpaRepository jpa, OutboxEventTypes eventTypes, JdbcTemplate jdbcTemplate,
+            EagerOutboxRelay eagerRelay, OrderEventsProducerImpl producer, ApplicationProperties properties) {
         this.jpa = jpa;
-        this.objectMapper = objectMapper;
-
+        this.eventTypes = eventTypes;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eagerRelay = eagerRelay;
+        this.producer = producer;
+        this.eager = properties.getOutbox().isEagerRelay();
+        this.notifyRelay = properties.getOutbox().isListenNotify();
+        this.binaryPayload = properties.getOutbox().isBinaryPayload();
     }
 
     public void publish(Iterable<Aggregate<?>> aggregates) {
+        var saved = new LinkedHashMap<UUID, EagerOutboxRelay.Pending>();
         try {
             for (AggregateRoot<?> aggregate : aggregates) {
-                aggregate.getDomainEvents().forEach(domainEvent -> {
+                for (var domainEvent : aggregate.getDomainEvents()) {
                     try {
-                        var payload = objectMapper.writeValueAsString(domainEvent);
-
-                        var outboxMessage = new OutboxMessage(
-                                domainEvent.getEventId(),
-                                domainEvent.getClass().getName(),
-                                aggregate.getId().toString(),
-                                aggregate.getClass().getSimpleName(),
-                                payload,
-                                domainEvent.getOccurredOnUtc()
-                        );
+                        var outboxMessage = toOutboxMessage(aggregate, domainEvent);
                         jpa.save(outboxMessage);
+                        saved.put(outboxMessage.getId(), new EagerOutboxRelay.Pending(outboxMessage, domainEvent));
                     } catch (Exception e) {
                         throw new RuntimeException("Failed to serialize domainEvent for Outbox", e);
                     }
-                });
+                }
 
                 aggregate.clearDomainEvents();
             }
         } catch (Exception e) {
             throw new RuntimeException("Persist events is failed", e);
         }
+
+        if (saved.isEmpty())
+            return;
+
+        if (eager && TransactionSynchronizationManager.isSynchronizationActive()) {
+            // После коммита события отправляются прямо из памяти, Job подберет только то, что не ушло
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eagerRelay.submit(saved);
+                }
+            });
+        } else if (notifyRelay) {
+            // Postgres доставит уведомление слушателю только после коммита транзакции, записавшей сообщения
+            jdbcTemplate.execute("NOTIFY " + OutboxNotificationListener.CHANNEL);
+        }
+    }
+
+    private OutboxMessage toOutboxMessage(AggregateRoot<?> aggregate, DomainEvent domainEvent) throws Exception {
+        var eventType = eventTypes.codeOf(domainEvent.getClass());
+        var aggregateId = aggregate.getId().toString();
+        var aggregateType = aggregate.getClass().getSimpleName();
+
+        // Интеграционное сообщение хранится вместо JSON сразу в виде, в котором уйдет в Kafka.
+        // Доменное событие для обработчиков внутри сервиса релей восстановит из него по типу события
+        var integrationMessage = binaryPayload ? producer.toIntegrationMessage(domainEvent) : Optional.<byte[]>empty();
+        if (integrationMessage.isPresent())
+            return new OutboxMessage(domainEvent.getEventId(), eventType, aggregateId, aggregateType,
+                    integrationMessage.get(), domainEvent.getOccurredOnUtc());
+
+        var payload = eventTypes.writerFor(domainEvent.getClass()).writeValueAsString(domainEvent);
+        return new OutboxMessage(domainEvent.getEventId(), eventType, aggregateId, aggregateType,
+                payload, domainEvent.getOccurredOnUtc());
     }
 }
@@ -0,0 +1,74 @@
+package microarch.delivery.adapters.out.postgres.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import libs.ddd.DomainEvent;
+import microarch.delivery.core.domain.model.courier.event.CourierReleasedDomainEvent;
+import microarch.delivery.core.domain.model.order.event.OrderCompletedDomainEvent;
+import microarch.delivery.core.domain.model.order.event.OrderCreatedDomainEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Типы событий outbox: короткий код в outbox.event_type и заранее построенные ObjectReader/ObjectWriter,
+ * чтобы релей не искал класс и не строил читатель Jackson на каждое сообщение.
+ * По коду релей находит и тип события, сохраненного готовым интеграционным сообщением (payload_bytes).
+ */
+@Component
+public class OutboxEventTypes {
+
+    // Коды хранятся в уже записанных строках outbox, менять их нельзя
+    private static final Map<Class<? extends DomainEvent>, String> CODES = Map.of(
+            OrderCreatedDomainEvent.class, "order.created",
+            OrderCompletedDomainEvent.class, "order.completed",
+            CourierReleasedDomainEvent.class, "courier.released");
+    private static final Map<String, Class<? extends DomainEvent>> TYPES = CODES.entrySet().stream()
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getValue, Map.Entry::getKey));
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public OutboxEventTypes(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        CODES.forEach((type, code) -> {
+            readers.put(code, objectMapper.readerFor(type));
+            writers.put(type, objectMapper.writerFor(type));
+        });
+    }
+
+    public String codeOf(Class<? extends DomainEvent> type) {
+        // Событие без кода записывается под полным именем класса
+        return CODES.getOrDefault(type, type.getName());
+    }
+
+    public ObjectWriter writerFor(Class<? extends DomainEvent> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
+    public ObjectReader readerFor(String eventType) {
+        return readers.computeIfAbsent(eventType, code -> objectMapper.readerFor(typeOf(code)));
+    }
+
+    public Class<?> typeOf(String eventType) {
+        var type = TYPES.get(eventType);
+        return type != null ? type : resolveByClassName(eventType);
+    }
+
+    // Строки, записанные до появления кодов, и события без кода хранят полное имя класса
+    private static Class<?> resolveByClassName(String className) {
+        Class<?> type;
+        try {
+            type = Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unknown outbox message type: " + className, e);
+        }
+        if (!DomainEvent.class.isAssignableFrom(type))
+            throw new IllegalStateException("Invalid outbox message type: " + type);
+        return type;
+    }
+}
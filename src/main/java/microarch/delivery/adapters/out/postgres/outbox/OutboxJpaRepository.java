@@ -1,14 +1,61 @@
 package microarch.delivery.adapters.out.postgres.outbox;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface OutboxJpaRepository extends JpaRepository<OutboxMessage, UUID> {
 
-    // Ищем все сообщения, у которых processedOnUtc == null
-    @Query(value = "SELECT id, event_type, aggregate_id, aggregate_type, payload, occurred_on_utc, processed_on_utc FROM outbox WHERE processed_on_utc IS NULL", nativeQuery = true)
-    List<OutboxMessage> findUnprocessedMessages();
+    // Страница необработанных сообщений в порядке возникновения. Строки остаются заблокированными
+    // до конца транзакции, а заблокированные другим релеем пропускаются без ожидания.
+    // Сообщения, ждущие повтора после ошибки или исчерпавшие попытки, не держат голову очереди.
+    // Поиск идет по частичному индексу ix_outbox_unprocessed (см. schema.sql)
+    @Query(value = """
+        SELECT id, event_type, aggregate_id, aggregate_type, payload, payload_bytes, occurred_on_utc, processed_on_utc,
+               attempts, last_error, next_attempt_on_utc
+        FROM outbox
+        WHERE processed_on_utc IS NULL
+          AND attempts < :maxAttempts
+          AND (next_attempt_on_utc IS NULL OR next_attempt_on_utc <= now())
+        ORDER BY occurred_on_utc
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<OutboxMessage> claimUnprocessedMessages(@Param("limit") int limit, @Param("maxAttempts") int maxAttempts);
+
+    // Захват только что записанных сообщений для немедленной отправки из памяти (EagerOutboxRelay)
+    @Query(value = """
+        SELECT id
+        FROM outbox
+        WHERE id IN (:ids)
+          AND processed_on_utc IS NULL
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<UUID> claimUnprocessedIds(@Param("ids") Collection<UUID> ids);
+
+    // Отмечаем всю страницу одним UPDATE вместо save на каждое сообщение
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.processedOnUtc = :processedOnUtc WHERE m.id IN :ids")
+    int markAsProcessed(@Param("ids") Collection<UUID> ids, @Param("processedOnUtc") Instant processedOnUtc);
+
+    // Неудачная попытка: следующая не раньше чем через minBackoff * 2^attempts, но не позже maxBackoff
+    @Modifying
+    @Query(value = """
+        UPDATE outbox
+        SET attempts = attempts + 1,
+            last_error = :error,
+            next_attempt_on_utc = now() + make_interval(secs => LEAST(:maxBackoffSeconds,
+                                                                      :minBackoffSeconds * power(2, attempts)))
+        WHERE id = :id
+    """, nativeQuery = true)
+    int markAsFailed(@Param("id") UUID id,
+                     @Param("error") String error,
+                     @Param("minBackoffSeconds") double minBackoffSeconds,
+                     @Param("maxBackoffSeconds") double maxBackoffSeconds);
 }
@@ -31,35 +31,66 @@ public class OutboxMessage {
     @Column(name = "aggregate_type", nullable = false)
     private String aggregateType;
 
-    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    // JSON события; пусто, если вместо него сохранено готовое интеграционное сообщение
+    @Column(name = "payload", columnDefinition = "text")
     private String payload;
 
+    // Интеграционное сообщение в protobuf, уходит в Kafka как есть
+    @Column(name = "payload_bytes", columnDefinition = "bytea")
+    private byte[] payloadBytes;
+
     @Column(name = "occurred_on_utc", nullable = false)
     private Instant occurredOnUtc;
 
     @Column(name = "processed_on_utc")
     private Instant processedOnUtc;
 
+    // Неудачные попытки отправки. Сообщение, исчерпавшее app.outbox.max-attempts, релей больше не берет
+    @Column(name = "attempts", nullable = false, columnDefinition = "integer not null default 0")
+    private int attempts;
+
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+
+    // До этого момента сообщение после неудачной попытки не захватывается, null - можно отправлять сразу
+    @Column(name = "next_attempt_on_utc")
+    private Instant nextAttemptOnUtc;
+
     public OutboxMessage(UUID id, String eventType, String aggregateId, String aggregateType, String payload,
             Instant occurredOnUtc) {
+        this(id, eventType, aggregateId, aggregateType, occurredOnUtc);
+        Error.throwIf(Guard.againstNullOrEmpty(payload, "payload"));
+        this.payload = payload;
+    }
+
+    public OutboxMessage(UUID id, String eventType, String aggregateId, String aggregateType, byte[] payloadBytes,
+            Instant occurredOnUtc) {
+        this(id, eventType, aggregateId, aggregateType, occurredOnUtc);
+        Objects.requireNonNull(payloadBytes, "payloadBytes");
+        this.payloadBytes = payloadBytes;
+    }
+
+    private OutboxMessage(UUID id, String eventType, String aggregateId, String aggregateType, Instant occurredOnUtc) {
         Objects.requireNonNull(id, "id");
         Objects.requireNonNull(occurredOnUtc, "occurredOnUtc");
 
         var err = Guard.combine(
                 Guard.againstNullOrEmpty(eventType, "eventType"),
                 Guard.againstNullOrEmpty(aggregateId, "aggregateId"),
-                Guard.againstNullOrEmpty(aggregateType, "aggregateType"),
-                Guard.againstNullOrEmpty(payload, "payload"));
+                Guard.againstNullOrEmpty(aggregateType, "aggregateType"));
         Error.throwIf(err);
 
         this.id = id;
         this.eventType = eventType;
         this.aggregateId = aggregateId;
         this.aggregateType = aggregateType;
-        this.payload = payload;
         this.occurredOnUtc = occurredOnUtc;
     }
 
+    public boolean hasPayloadBytes() {
+        return payloadBytes != null;
+    }
+
     public void markAsProcessed() {
         this.processedOnUtc = Instant.now();
     }
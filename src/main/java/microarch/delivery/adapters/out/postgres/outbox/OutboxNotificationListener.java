@@ -0,0 +1,86 @@
+package microarch.delivery.adapters.out.postgres.outbox;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import microarch.delivery.ApplicationProperties;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Запускает релей outbox по уведомлению Postgres, которое OutboxDomainEventPublisher шлет из транзакции,
+ * записавшей сообщения. Слушает на отдельном соединении из пула.
+ * Без уведомлений релей все равно запускается: через min-poll-interval, и после каждого пустого прохода
+ * интервал удваивается до max-poll-interval - так подбираются сообщения, уведомление о которых потерялось
+ * (например, пока соединение переподключалось).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "listen-notify", havingValue = "true")
+public class OutboxNotificationListener {
+    static final String CHANNEL = "outbox";
+
+    private final DataSource dataSource;
+    private final Job job;
+    private final long minPollMillis;
+    private final long maxPollMillis;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public OutboxNotificationListener(DataSource dataSource, Job job, ApplicationProperties properties) {
+        this.dataSource = dataSource;
+        this.job = job;
+        this.minPollMillis = Math.max(1, properties.getOutbox().getMinPollInterval().toMillis());
+        this.maxPollMillis = Math.max(minPollMillis, properties.getOutbox().getMaxPollInterval().toMillis());
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "outbox-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        thread.interrupt();
+        thread.join(maxPollMillis);
+    }
+
+    private void listen() {
+        while (running) {
+            try (var connection = dataSource.getConnection()) {
+                var pgConnection = connection.unwrap(PGConnection.class);
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                // Сообщения, записанные пока никто не слушал, разбираем сразу
+                long waitMillis = job.relay() > 0 ? minPollMillis : maxPollMillis;
+                while (running) {
+                    var notifications = pgConnection.getNotifications((int) waitMillis);
+                    boolean notified = notifications != null && notifications.length > 0;
+                    int relayed = job.relay();
+                    waitMillis = notified || relayed > 0 ? minPollMillis : Math.min(waitMillis * 2, maxPollMillis);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running)
+                    return;
+                log.warn("Outbox listener failed, reconnecting in {} ms: {}", maxPollMillis, e.getMessage());
+                try {
+                    Thread.sleep(maxPollMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
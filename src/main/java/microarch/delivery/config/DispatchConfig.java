@@ -0,0 +1,28 @@
+package microarch.delivery.config;
+
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.core.domain.services.OptimalOrderDispatcherImpl;
+import microarch.delivery.core.domain.services.OrderDispatcher;
+import microarch.delivery.core.domain.services.OrderDispatcherImpl;
+import microarch.delivery.core.domain.services.RoutePlanner;
+import microarch.delivery.core.domain.services.RoutePlannerImpl;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DispatchConfig {
+
+    @Bean
+    public OrderDispatcher orderDispatcher(ApplicationProperties properties) {
+        var multiOrder = properties.getDispatch().isMultiOrder();
+        return switch (properties.getDispatch().getStrategy()) {
+            case GREEDY -> new OrderDispatcherImpl(multiOrder);
+            case OPTIMAL -> new OptimalOrderDispatcherImpl(multiOrder);
+        };
+    }
+
+    @Bean
+    public RoutePlanner routePlanner() {
+        return new RoutePlannerImpl();
+    }
+}
@@ -0,0 +1,17 @@
+package microarch.delivery.config;
+
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MapConfig {
+
+    // Границы карты передаются фабрикам, которые проверяют по ним координаты
+    @Bean
+    public MapBounds mapBounds(ApplicationProperties properties) {
+        var map = properties.getMap();
+        return MapBounds.mustCreate(map.getWidth(), map.getHeight());
+    }
+}
@@ -1,5 +1,7 @@
 package microarch.delivery.config;
 
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.core.application.commands.MoveCourierCommandHandler;
 import microarch.delivery.core.application.jobs.AssignOrdersJob;
 import microarch.delivery.core.application.jobs.MoveCouriersJob;
 import org.quartz.*;
@@ -18,12 +20,13 @@ public class QuartzConfig {
     }
 
     @Bean
-    public Trigger assignOrdersTrigger(JobDetail assignOrdersJobDetail) {
+    public Trigger assignOrdersTrigger(JobDetail assignOrdersJobDetail, ApplicationProperties properties) {
+        // Основной запуск - по событиям (AssignOrdersCoalescer), опрос подбирает то, что сигналы пропустили
         return TriggerBuilder.newTrigger()
                 .forJob(assignOrdersJobDetail)
                 .withIdentity("assignOrdersTrigger")
                 .withSchedule(SimpleScheduleBuilder.simpleSchedule()
-                        .withIntervalInSeconds(1)
+                        .withIntervalInMilliseconds(properties.getDispatch().getPollInterval().toMillis())
                         .repeatForever())
                 .build();
     }
@@ -42,7 +45,7 @@ public class QuartzConfig {
                 .forJob(moveCouriersJobDetail)
                 .withIdentity("moveCouriersTrigger")
                 .withSchedule(SimpleScheduleBuilder.simpleSchedule()
-                        .withIntervalInSeconds(1)
+                        .withIntervalInMilliseconds(MoveCourierCommandHandler.TICK.toMillis())
                         .repeatForever())
                 .build();
     }
@@ -1,8 +1,11 @@
 package microarch.delivery.core.application.commands;
 
 import libs.errs.Error;
-import libs.errs.UnitResult;
+import libs.errs.Result;
 
 public interface AssignOrderCommandHandler {
-    UnitResult<Error> handle();
+    /**
+     * Назначает очередную порцию заказов. Возвращает число назначенных заказов, 0 - новых заказов нет.
+     */
+    Result<Integer, Error> handle();
 }
@@ -1,14 +1,27 @@
 package microarch.delivery.core.application.commands;
 
 import libs.errs.Error;
-import libs.errs.UnitResult;
+import libs.errs.Result;
 import lombok.RequiredArgsConstructor;
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
+import microarch.delivery.core.domain.model.order.Order;
 import microarch.delivery.core.domain.services.OrderDispatcher;
+import microarch.delivery.core.domain.services.RegionGrid;
 import microarch.delivery.core.ports.CourierRepository;
 import microarch.delivery.core.ports.OrderRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
 @Service
 @RequiredArgsConstructor
 public class AssignOrderCommandHandlerImpl implements AssignOrderCommandHandler {
@@ -16,26 +29,121 @@ public class AssignOrderCommandHandlerImpl implements AssignOrderCommandHandler
     private final OrderRepository orderRepository;
     private final CourierRepository courierRepository;
     private final OrderDispatcher orderDispatcher;
+    private final ApplicationProperties properties;
+    private final MapBounds mapBounds;
 
     @Override
     @Transactional
-    public UnitResult<Error> handle() {
-        var orderOpt = orderRepository.findAnyCreated();
-        if (orderOpt.isEmpty())
+    public Result<Integer, Error> handle() {
+        var batchSize = properties.getDispatch().getBatchSize();
+        if (properties.getDispatch().getRegions().isEnabled())
+            return handleRegions(Math.max(1, batchSize));
+        if (batchSize > 1)
+            return handleBatch(batchSize);
+
+        // Заказ и курьеры захватываются до конца транзакции, параллельные распределители их пропускают
+        var claimed = orderRepository.claimCreated(1);
+        if (claimed.isEmpty())
             // Если новых заказов нет, завершаем
-            return UnitResult.success();
+            return Result.success(0);
 
-        var order = orderOpt.get();
-        var availableCouriers = courierRepository.findAllAvailable();
+        var order = claimed.get(0);
+        // Курьеров, которым заказ не поместится, отсекает база
+        var availableCouriers = findCouriers(List.of(order));
 
         var assignedCourierResult = orderDispatcher.dispatch(order, availableCouriers);
 
         if (assignedCourierResult.isFailure())
-            return UnitResult.failure(assignedCourierResult.getError());
+            return Result.failure(assignedCourierResult.getError());
 
         orderRepository.save(order);
         courierRepository.save(assignedCourierResult.getValue());
 
-        return UnitResult.success();
+        return Result.success(1);
+    }
+
+    private Result<Integer, Error> handleBatch(int batchSize) {
+        var orders = orderRepository.claimCreated(batchSize);
+        if (orders.isEmpty())
+            // Если новых заказов нет, завершаем
+            return Result.success(0);
+
+        var availableCouriers = findCouriers(orders);
+
+        var assignments = orderDispatcher.dispatchAll(orders, availableCouriers);
+
+        return saveAssignments(orders, assignments);
+    }
+
+    // Экземпляр распределяет только заказы своих регионов и в первую очередь отдает их курьерам тех же регионов
+    private Result<Integer, Error> handleRegions(int batchSize) {
+        var regions = properties.getDispatch().getRegions();
+        var grid = new RegionGrid(regions.getTileSize(), mapBounds.getWidth());
+        var claimed = regions.getClaimed();
+
+        var pendingById = new LinkedHashMap<UUID, Order>();
+        orderRepository.claimCreatedInRegions(grid, claimed, batchSize)
+                .forEach(order -> pendingById.put(order.getId(), order));
+        // Заказы, которые долго никто не назначил (регион без экземпляра или без курьеров), берем из любого региона
+        var starvedBefore = Instant.now().minus(regions.getStarvationTimeout());
+        orderRepository.claimCreatedBefore(starvedBefore, batchSize)
+                .forEach(order -> pendingById.putIfAbsent(order.getId(), order));
+
+        if (pendingById.isEmpty())
+            // Если новых заказов нет, завершаем
+            return Result.success(0);
+
+        var orders = pendingById.values().stream()
+                .sorted(Order.BY_URGENCY)
+                .toList();
+        var localCouriers = claimPerOrder(orders, order -> courierRepository.claimInRegions(grid, claimed,
+                order.getVolume(), properties.getDispatch().isMultiOrder(), order.getLocation(), courierFanOut()));
+        var assignments = new LinkedHashMap<>(orderDispatcher.dispatchAll(orders, localCouriers));
+
+        // Для оставшихся заказов ищем курьеров по всей карте
+        var unassigned = orders.stream()
+                .filter(order -> !assignments.containsKey(order))
+                .toList();
+        if (!unassigned.isEmpty())
+            assignments.putAll(orderDispatcher.dispatchAll(unassigned, findCouriers(unassigned)));
+
+        return saveAssignments(orders, assignments);
+    }
+
+    private Result<Integer, Error> saveAssignments(List<Order> orders, Map<Order, Courier> assignments) {
+        if (assignments.isEmpty())
+            return Result.failure(Errors.couriersAreNotFoundForOrders(orders.size()));
+
+        // Все назначения пачки сохраняем разом, Hibernate отправит их JDBC-батчами
+        orderRepository.saveAll(List.copyOf(assignments.keySet()));
+        courierRepository.saveAll(List.copyOf(new LinkedHashSet<>(assignments.values())));
+
+        return Result.success(assignments.size());
+    }
+
+    private int courierFanOut() {
+        return Math.max(1, properties.getDispatch().getCourierFanOut());
+    }
+
+    private List<Courier> findCouriers(List<Order> orders) {
+        // В режиме нескольких заказов подходят и занятые курьеры, у которых осталось место
+        return claimPerOrder(orders, order -> courierRepository.claimWithFreeVolume(order.getVolume(),
+                properties.getDispatch().isMultiOrder(), order.getLocation(), courierFanOut()));
+    }
+
+    // Для каждого заказа захватываем самых быстрых до него курьеров, а не весь парк.
+    // Пулы заказов пачки пересекаются - свои блокировки транзакция не пропускает, поэтому убираем повторы
+    private static List<Courier> claimPerOrder(List<Order> orders, Function<Order, List<Courier>> claim) {
+        var couriers = new LinkedHashMap<UUID, Courier>();
+        for (var order : orders)
+            claim.apply(order).forEach(courier -> couriers.putIfAbsent(courier.getId(), courier));
+        return List.copyOf(couriers.values());
+    }
+
+    private static class Errors {
+        public static Error couriersAreNotFoundForOrders(int ordersCount) {
+            return Error.of("couriers.are.not.found.orders",
+                    "Не найдено ни одного курьера для %d заказов", ordersCount);
+        }
     }
 }
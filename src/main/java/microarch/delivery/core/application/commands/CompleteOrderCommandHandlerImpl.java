@@ -56,7 +56,7 @@ public class CompleteOrderCommandHandlerImpl implements CompleteOrderCommandHand
             }
             orderRepository.save(order);
             courierRepository.save(courier);
-            domainEventPublisher.publish(List.of(order));
+            domainEventPublisher.publish(List.of(order, courier));
             return UnitResult.success();
         } else {
             return UnitResult.failure(Errors.courierNotInTargetLocation(courier.getId()));
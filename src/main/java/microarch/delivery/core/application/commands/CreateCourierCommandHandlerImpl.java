@@ -5,6 +5,7 @@ import libs.errs.Result;
 import lombok.RequiredArgsConstructor;
 import microarch.delivery.core.domain.model.courier.Courier;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.ports.CourierRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,14 +16,15 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CreateCourierCommandHandlerImpl implements CreateCourierCommandHandler {
 
-    private static final Location DEFAULT_LOCATION = Location.mustCreate(1,1);
-
     private final CourierRepository courierRepository;
+    private final MapBounds mapBounds;
 
     @Override
     @Transactional
     public Result<UUID, Error> handle(CreateCourierCommand command) {
-        var courierCreateResult = Courier.create(command.getName(), command.getSpeed(), DEFAULT_LOCATION);
+        // Новый курьер появляется в начальной клетке карты
+        var startLocation = Location.mustCreate(1, 1, mapBounds);
+        var courierCreateResult = Courier.create(command.getName(), command.getSpeed(), startLocation);
 
         if (courierCreateResult.isFailure())
             return Result.failure(courierCreateResult.getError());
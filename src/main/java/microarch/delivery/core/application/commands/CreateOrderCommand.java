@@ -6,11 +6,14 @@ import libs.errs.Result;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import microarch.delivery.core.domain.model.kernel.Address;
+import microarch.delivery.core.domain.model.kernel.DeliveryPeriod;
 import microarch.delivery.core.domain.model.kernel.Volume;
 
 import java.util.UUID;
 
+@Slf4j
 @Getter
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public final class CreateOrderCommand {
@@ -20,6 +23,9 @@ public final class CreateOrderCommand {
 
     private final Volume volume;
 
+    // null - покупатель не выбрал окно доставки
+    private final DeliveryPeriod deliveryPeriod;
+
     public static Result<CreateOrderCommand, Error> create(
             UUID orderId,
             String country,
@@ -44,7 +50,43 @@ public final class CreateOrderCommand {
                 new CreateOrderCommand(
                         orderId,
                         addresResult.getValue(),
-                        volumeResult.getValue()
+                        volumeResult.getValue(),
+                        null
+                )
+        );
+    }
+
+    public static Result<CreateOrderCommand, Error> create(
+            UUID orderId,
+            String country,
+            String city,
+            String street,
+            String house,
+            String apartment,
+            int volume,
+            int deliveryFrom,
+            int deliveryTo
+    ) {
+        var commandResult = create(orderId, country, city, street, house, apartment, volume);
+        if (commandResult.isFailure())
+            return commandResult;
+
+        // Некорректное окно не повод терять заказ: повторная доставка сообщения снова упала бы.
+        // Такой заказ распределяется как заказ без окна доставки
+        var deliveryPeriodResult = DeliveryPeriod.create(deliveryFrom, deliveryTo);
+        if (deliveryPeriodResult.isFailure()) {
+            log.warn("Order {} has invalid delivery period {}-{}, created without deadline: {}",
+                    orderId, deliveryFrom, deliveryTo, deliveryPeriodResult.getError());
+            return commandResult;
+        }
+
+        var command = commandResult.getValue();
+        return Result.success(
+                new CreateOrderCommand(
+                        command.orderId,
+                        command.address,
+                        command.volume,
+                        deliveryPeriodResult.getValue()
                 )
         );
     }
@@ -29,7 +29,8 @@ public class CreateOrderCommandHandlerImpl implements CreateOrderCommandHandler
         var existingOrder = orderRepository.findById(command.getOrderId());
         if (existingOrder.isEmpty()) {
             var orderLocation = geoClient.getLocation(command.getAddress());
-            var orderCreateResult = Order.create(command.getOrderId(), orderLocation, command.getVolume());
+            var orderCreateResult = Order.create(command.getOrderId(), orderLocation, command.getVolume(),
+                    command.getDeliveryPeriod());
             if (orderCreateResult.isFailure())
                 return Result.failure(orderCreateResult.getError());
             var order = orderCreateResult.getValue();
@@ -3,6 +3,11 @@ package microarch.delivery.core.application.commands;
 import libs.errs.Error;
 import libs.errs.UnitResult;
 
+import java.time.Duration;
+
 public interface MoveCourierCommandHandler {
+    // Курьер проходит speed клеток за тик
+    Duration TICK = Duration.ofSeconds(1);
+
     UnitResult<Error> handle();
 }
@@ -1,48 +1,93 @@
 package microarch.delivery.core.application.commands;
 
+import libs.ddd.Aggregate;
 import libs.ddd.DomainEventPublisher;
 import libs.errs.Error;
 import libs.errs.UnitResult;
 import lombok.RequiredArgsConstructor;
+import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.order.Order;
+import microarch.delivery.core.domain.services.Route;
+import microarch.delivery.core.domain.services.RoutePlanner;
 import microarch.delivery.core.ports.CourierRepository;
+import microarch.delivery.core.ports.JobLeaseRepository;
 import microarch.delivery.core.ports.OrderRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MoveCourierCommandHandlerImpl implements MoveCourierCommandHandler {
 
+    private static final String JOB_NAME = "move-couriers";
+
     private final OrderRepository orderRepository;
     private final CourierRepository courierRepository;
     private final DomainEventPublisher domainEventPublisher;
+    private final RoutePlanner routePlanner;
+    private final JobLeaseRepository jobLeaseRepository;
+
+    // Маршруты курьеров между тиками. Курьеры загружаются заново на каждом тике, поэтому маршрут хранится здесь,
+    // а не в агрегате. После тика остаются только маршруты курьеров, у которых еще есть недоставленные заказы
+    final Map<UUID, Route> routes = new ConcurrentHashMap<>();
 
     @Override
     @Transactional
     public UnitResult<Error> handle() {
+        // Тик делает один экземпляр кластера, иначе курьеры двигались бы быстрее, а заказы завершались дважды
+        if (!jobLeaseRepository.tryAcquire(JOB_NAME, TICK))
+            return UnitResult.success();
+
         var assignedOrders = orderRepository.findAllAssigned();
 
         if (assignedOrders.isEmpty()) {
+            routes.clear();
             return UnitResult.success();
         }
 
+        // Всех задействованных курьеров загружаем одним запросом
+        var courierIds = assignedOrders.stream()
+                .map(Order::getCourierId)
+                .collect(Collectors.toSet());
+        var couriers = courierRepository.findAllByIds(courierIds).stream()
+                .collect(Collectors.toMap(Courier::getId, Function.identity()));
+
         List<Error> errors = new ArrayList<>();
+        List<Order> completedOrders = new ArrayList<>();
+        Set<Courier> changedCouriers = new LinkedHashSet<>();
+
+        // У курьера может быть несколько заказов: за тик он выдает все заказы в текущей точке
+        // и делает один шаг к следующей точке своего маршрута
+        var ordersByCourier = assignedOrders.stream()
+                .collect(Collectors.groupingBy(Order::getCourierId, LinkedHashMap::new, Collectors.toList()));
 
-        for (var order : assignedOrders) {
-            var courierOpt = courierRepository.findById(order.getCourierId());
+        for (var entry : ordersByCourier.entrySet()) {
+            var courier = couriers.get(entry.getKey());
 
-            if (courierOpt.isEmpty()) {
-                errors.add(Errors.courierNotFound(order.getCourierId(), order.getId()));
+            if (courier == null) {
+                entry.getValue().forEach(order -> errors.add(Errors.courierNotFound(entry.getKey(), order.getId())));
                 continue;
             }
 
-            var courier = courierOpt.get();
+            List<Order> remainingOrders = new ArrayList<>();
+            for (var order : entry.getValue()) {
+                if (!courier.isInTargetLocation(order.getLocation())) {
+                    remainingOrders.add(order);
+                    continue;
+                }
 
-            if (courier.isInTargetLocation(order.getLocation())) {
                 var completeResult = order.complete();
                 if (completeResult.isFailure()) {
                     errors.add(completeResult.getError());
@@ -53,35 +98,65 @@ public class MoveCourierCommandHandlerImpl implements MoveCourierCommandHandler
                 if (removeResult.isFailure()) {
                     errors.add(removeResult.getError());
                 }
-                orderRepository.save(order);
-                courierRepository.save(courier);
-                domainEventPublisher.publish(List.of(order));
+                completedOrders.add(order);
+                changedCouriers.add(courier);
+            }
+
+            if (remainingOrders.isEmpty()) {
+                routes.remove(courier.getId());
                 continue;
             }
 
-            var moveResult = courier.move(order.getLocation());
+            var target = nextTarget(courier, remainingOrders);
+            var moveResult = courier.move(target);
             if (moveResult.isFailure()) {
                 errors.add(moveResult.getError());
             } else {
-                courierRepository.save(courier);
+                changedCouriers.add(courier);
             }
         }
 
+        // Курьеры без назначенных заказов (доставили все или были переназначены) в тик не попали -
+        // их маршруты больше не нужны
+        routes.keySet().retainAll(ordersByCourier.keySet());
+
+        // Изменения тика сохраняем разом, Hibernate отправит их JDBC-батчами
+        if (!completedOrders.isEmpty()) {
+            orderRepository.saveAll(completedOrders);
+            // События заказов и освободившихся курьеров уходят в outbox одной пачкой
+            List<Aggregate<?>> aggregates = new ArrayList<>(completedOrders);
+            aggregates.addAll(changedCouriers);
+            domainEventPublisher.publish(aggregates);
+        }
+        if (!changedCouriers.isEmpty()) {
+            courierRepository.saveAll(changedCouriers);
+        }
+
         return errors.isEmpty()
                 ? UnitResult.success()
                 : UnitResult.failure(Errors.moveCouriersPartialErrors(errors));
     }
 
+    // Маршрут строится один раз и пересчитывается, только когда у курьера появляются новые заказы
+    private Location nextTarget(Courier courier, List<Order> orders) {
+        var route = routes.get(courier.getId());
+        if (route == null || !route.covers(orders)) {
+            route = routePlanner.plan(courier.getLocation(), orders);
+            routes.put(courier.getId(), route);
+        }
+        return route.nextTarget(orders);
+    }
+
     private static class Errors {
         public static Error moveCouriersPartialErrors(List<Error> errors) {
             return Error.of("move.couriers.partial",
-                    String.format("Часть операций завершилась с ошибками. Количество ошибок: %d", errors.size()));
+                    "Часть операций завершилась с ошибками. Количество ошибок: %d", errors.size());
         }
 
         public static Error courierNotFound(UUID courierId, UUID orderId) {
             return Error.of(
                     "courier.not.found",
-                    String.format("Курьер с id %s не найден для заказа %s", courierId, orderId)
+                    "Курьер с id %s не найден для заказа %s", courierId, orderId
             );
         }
     }
@@ -0,0 +1,20 @@
+package microarch.delivery.core.application.eventhandlers;
+
+import microarch.delivery.core.application.jobs.AssignOrdersCoalescer;
+import microarch.delivery.core.domain.model.courier.event.CourierReleasedDomainEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AssignOrdersOnCourierReleasedHandler {
+    private final AssignOrdersCoalescer coalescer;
+
+    public AssignOrdersOnCourierReleasedHandler(AssignOrdersCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    @EventListener
+    public void handle(CourierReleasedDomainEvent event) {
+        coalescer.signal();
+    }
+}
@@ -0,0 +1,20 @@
+package microarch.delivery.core.application.eventhandlers;
+
+import microarch.delivery.core.application.jobs.AssignOrdersCoalescer;
+import microarch.delivery.core.domain.model.order.event.OrderCreatedDomainEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AssignOrdersOnOrderCreatedHandler {
+    private final AssignOrdersCoalescer coalescer;
+
+    public AssignOrdersOnOrderCreatedHandler(AssignOrdersCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    @EventListener
+    public void handle(OrderCreatedDomainEvent event) {
+        coalescer.signal();
+    }
+}
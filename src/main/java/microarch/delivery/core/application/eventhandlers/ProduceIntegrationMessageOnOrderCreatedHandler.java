@@ -2,10 +2,13 @@ package microarch.delivery.core.application.eventhandlers;
 
 import microarch.delivery.adapters.out.kafka.OrderEventsProducerImpl;
 import microarch.delivery.core.domain.model.order.event.OrderCreatedDomainEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+// С app.outbox.binary-payload сообщение уходит в Kafka из outbox готовым protobuf
 @Service
+@ConditionalOnProperty(prefix = "app.outbox", name = "binary-payload", havingValue = "false", matchIfMissing = true)
 public class ProduceIntegrationMessageOnOrderCreatedHandler {
     private final OrderEventsProducerImpl producer;
 
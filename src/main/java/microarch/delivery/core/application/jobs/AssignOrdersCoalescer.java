@@ -0,0 +1,73 @@
+package microarch.delivery.core.application.jobs;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import libs.errs.Error;
+import libs.errs.Result;
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.core.application.commands.AssignOrderCommandHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Запускает распределение заказов по событиям, не дожидаясь опроса Quartz.
+ * Сигналы, пришедшие за app.dispatch.coalesce-window, склеиваются в один запуск,
+ * а сигналы, пришедшие во время запуска, - в один следующий.
+ * Запуск вызывает обработчик, пока тот назначает заказы: склеенные сигналы могли принести больше заказов,
+ * чем обработчик назначает за один вызов (app.dispatch.batch-size).
+ * Опрос Quartz (AssignOrdersJob) тоже только подает сигнал, поэтому в экземпляре сервиса
+ * распределение никогда не идет параллельно - на это опирается app.fleet-state.
+ */
+@Slf4j
+@Component
+public class AssignOrdersCoalescer {
+    private final AssignOrderCommandHandler handler;
+    private final long windowMillis;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "assign-orders-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Запуск запланирован или идет прямо сейчас
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // С начала последнего запуска пришел новый сигнал
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    public AssignOrdersCoalescer(AssignOrderCommandHandler handler, ApplicationProperties properties) {
+        this.handler = handler;
+        this.windowMillis = properties.getDispatch().getCoalesceWindow().toMillis();
+    }
+
+    public void signal() {
+        pending.set(true);
+        if (scheduled.compareAndSet(false, true))
+            executor.schedule(this::run, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void run() {
+        try {
+            pending.set(false);
+            Result<Integer, Error> result;
+            do {
+                result = handler.handle();
+            } while (result.isSuccess() && result.getValue() > 0 && !Thread.currentThread().isInterrupted());
+        } catch (RuntimeException e) {
+            // Заказы подберет следующий сигнал или опрос Quartz
+            log.warn("Order assignment triggered by event failed", e);
+        } finally {
+            scheduled.set(false);
+            if (pending.get() && scheduled.compareAndSet(false, true))
+                executor.schedule(this::run, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
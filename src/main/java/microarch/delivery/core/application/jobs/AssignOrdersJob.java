@@ -2,7 +2,7 @@ package microarch.delivery.core.application.jobs;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import microarch.delivery.core.application.commands.AssignOrderCommandHandler;
+import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.springframework.stereotype.Component;
@@ -10,11 +10,13 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@DisallowConcurrentExecution
 public class AssignOrdersJob implements Job {
-    private final AssignOrderCommandHandler handler;
+    // Опрос - такой же сигнал, как событие: распределение в процессе всегда идет в одном потоке коалесера
+    private final AssignOrdersCoalescer coalescer;
 
     @Override
     public void execute(JobExecutionContext context) {
-        handler.handle();
+        coalescer.signal();
     }
 }
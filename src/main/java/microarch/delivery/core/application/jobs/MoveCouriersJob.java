@@ -3,6 +3,7 @@ package microarch.delivery.core.application.jobs;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import microarch.delivery.core.application.commands.MoveCourierCommandHandler;
+import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.springframework.stereotype.Component;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@DisallowConcurrentExecution
 public class MoveCouriersJob implements Job {
 
     private final MoveCourierCommandHandler handler;
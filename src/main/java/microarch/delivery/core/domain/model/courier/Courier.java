@@ -16,6 +16,7 @@ import libs.errs.UnitResult;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import microarch.delivery.core.domain.model.courier.event.CourierReleasedDomainEvent;
 import microarch.delivery.core.domain.model.kernel.Location;
 import microarch.delivery.core.domain.model.kernel.Speed;
 import microarch.delivery.core.domain.model.kernel.Volume;
@@ -44,6 +45,10 @@ public class Courier extends Aggregate<UUID> {
     @Embedded
     private Location location;
 
+    // Денормализованный признак наличия заказов - по нему с частичным индексом ищутся свободные курьеры
+    @Column(name = "busy", nullable = false, columnDefinition = "boolean not null default false")
+    private boolean busy;
+
     @OneToMany(
             cascade = CascadeType.ALL,
             orphanRemoval = true,
@@ -65,6 +70,15 @@ public class Courier extends Aggregate<UUID> {
         );
     }
 
+    private Courier(Courier other) {
+        super(other.id);
+        this.name = other.name;
+        this.speed = other.speed;
+        this.location = other.location;
+        this.busy = other.busy;
+        other.storagePlaces.forEach(storagePlace -> this.storagePlaces.add(storagePlace.copy()));
+    }
+
     public static Result<Courier, Error> create(String name, Speed speed, Location location) {
         if (name == null || name.isBlank()) return Result.failure(GeneralErrors.valueIsRequired("name"));
         if (location == null) return Result.failure(GeneralErrors.valueIsRequired("location"));
@@ -95,11 +109,14 @@ public class Courier extends Aggregate<UUID> {
     public UnitResult<Error> takeOrder(UUID orderId, Volume orderVolume) {
         Objects.requireNonNull(orderId, "orderId");
 
-        return storagePlaces.stream()
+        var result = storagePlaces.stream()
                 .filter(storagePlace -> storagePlace.canPlaceOrder(orderVolume))
                 .min(Comparator.comparing(StoragePlace::getTotalVolume))
                 .map(storagePlace -> storagePlace.placeOrder(orderId, orderVolume))
-                .orElse(UnitResult.failure(Errors.canNotTakeOrder(orderVolume)));
+                .orElseGet(() -> UnitResult.failure(Errors.canNotTakeOrder(orderVolume)));
+
+        refreshBusy();
+        return result;
     }
 
     public UnitResult<Error> completeOrder(UUID orderId) {
@@ -113,70 +130,69 @@ public class Courier extends Aggregate<UUID> {
             return UnitResult.failure(Errors.orderIsNotFoundInStoragePlaces(orderId));
         }
 
-        return storagePlaceWithOrder.get().removeOrder();
+        var result = storagePlaceWithOrder.get().removeOrder();
+
+        refreshBusy();
+        if (result.isSuccess())
+            raiseDomainEvent(new CourierReleasedDomainEvent(this));
+        return result;
     }
 
     public Result<Integer, Error> calculateDeliveryTime(Location target) {
         Objects.requireNonNull(target, "target");
 
-        var distanceResult = this.location.distanceTo(target);
-        if (distanceResult.isFailure()) {
-            return Result.failure(distanceResult.getError());
-        }
-
-        int distance = distanceResult.getValue();
-        int ticks = (int) Math.ceil((double) distance / this.speed.getValue());
+        return Result.success(deliveryTimeTo(target));
+    }
 
-        return Result.success(ticks);
+    /**
+     * Время доставки в тиках без аллокаций - для диспетчера, который считает его для каждой пары курьер-заказ.
+     */
+    public int deliveryTimeTo(Location target) {
+        return this.speed.ticksToCover(this.location.manhattanDistance(target));
     }
 
     public UnitResult<Error> move(Location target) {
         Objects.requireNonNull(target);
 
-        int difX = target.getX() - location.getX();
-        int difY = target.getY() - location.getY();
-        int cruisingRange = speed.getValue();
-
-        int moveX = Math.max(-cruisingRange, Math.min(difX, cruisingRange));
-        cruisingRange -= Math.abs(moveX);
-
-        int moveY = Math.max(-cruisingRange, Math.min(difY, cruisingRange));
-
-        Result<Location, Error> locationCreateResult = Location.create(
-                location.getX() + moveX,
-                location.getY() + moveY
-        );
-
-        if (locationCreateResult.isFailure()) {
-            return UnitResult.failure(locationCreateResult.getError());
-        }
-
-        this.location = locationCreateResult.getValue();
+        this.location = location.stepTowards(target, speed.getValue());
         return UnitResult.success();
     }
 
+    /**
+     * Независимая копия курьера с теми же идентификаторами, без накопленных доменных событий.
+     */
+    public Courier copy() {
+        return new Courier(this);
+    }
+
     public boolean isInTargetLocation(Location target) {
         Objects.requireNonNull(target);
         return location.equals(target);
     }
 
+    public boolean hasEmptyStoragePlace() {
+        return storagePlaces.stream().anyMatch(StoragePlace::isEmpty);
+    }
+
     public boolean hasNoActiveOrders() {
         return storagePlaces.stream().allMatch(StoragePlace::isEmpty);
     }
 
+    private void refreshBusy() {
+        this.busy = !hasNoActiveOrders();
+    }
+
     private static class Errors {
         public static Error orderIsNotFoundInStoragePlaces(UUID orderId) {
             return Error.of("courier.cannot.complete.order",
-                    String.format("Заказ %s не найден ни в одном месте хранения", orderId));
+                    "Заказ %s не найден ни в одном месте хранения", orderId);
         }
 
         public static Error canNotTakeOrder(Volume orderVolume) {
             return Error.of(
                     "courier.cannot.take.order",
-                    String.format(
-                            "Невозможно принять заказ объемом %d - нет подходящего места для хранения.",
-                            orderVolume.getValue()
-                    )
+                    "Невозможно принять заказ объемом %d - нет подходящего места для хранения.",
+                    orderVolume.getValue()
             );
         }
     }
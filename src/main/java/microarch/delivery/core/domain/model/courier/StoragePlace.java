@@ -39,6 +39,13 @@ public class StoragePlace extends BaseEntity<UUID> {
         this.orderId = null;
     }
 
+    private StoragePlace(StoragePlace other) {
+        super(other.id);
+        this.name = other.name;
+        this.totalVolume = other.totalVolume;
+        this.orderId = other.orderId;
+    }
+
     public static Result<StoragePlace, Error> create(String name, Volume totalVolume) {
         if (name == null || name.isBlank()) return Result.failure(GeneralErrors.valueIsRequired("name"));
         if (totalVolume == null) return Result.failure(GeneralErrors.valueIsRequired("totalVolume"));
@@ -66,11 +73,9 @@ public class StoragePlace extends BaseEntity<UUID> {
         if (this.totalVolume.isLessThan(orderVolume)) {
             return UnitResult.failure(
                     Error.of("storage_place.insufficient_capacity",
-                            String.format(
-                                    "Order volume %d exceeds storage place capacity %d",
-                                    orderVolume.getValue(),
-                                    this.totalVolume.getValue()
-                            )
+                            "Order volume %d exceeds storage place capacity %d",
+                            orderVolume.getValue(),
+                            this.totalVolume.getValue()
                     )
             );
         }
@@ -92,4 +97,8 @@ public class StoragePlace extends BaseEntity<UUID> {
     public boolean isEmpty() {
         return orderId == null;
     }
+
+    StoragePlace copy() {
+        return new StoragePlace(this);
+    }
 }
\ No newline at end of file
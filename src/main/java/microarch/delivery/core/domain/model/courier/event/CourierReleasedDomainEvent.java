@@ -0,0 +1,25 @@
+package microarch.delivery.core.domain.model.courier.event;
+
+import libs.ddd.DomainEvent;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import microarch.delivery.core.domain.model.courier.Courier;
+
+import java.util.UUID;
+
+/**
+ * Курьер освободил место хранения и может взять новый заказ.
+ */
+@NoArgsConstructor(force = true, access = AccessLevel.PROTECTED)
+@Getter
+public class CourierReleasedDomainEvent extends DomainEvent {
+    private final UUID courierId;
+    private final boolean available;
+
+    public CourierReleasedDomainEvent(Courier courier) {
+        super(courier);
+        this.courierId = courier.getId();
+        this.available = courier.hasNoActiveOrders();
+    }
+}
@@ -0,0 +1,64 @@
+package microarch.delivery.core.domain.model.kernel;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import libs.ddd.ValueObject;
+import libs.errs.Error;
+import libs.errs.GeneralErrors;
+import libs.errs.Guard;
+import libs.errs.Result;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Окно доставки, выбранное покупателем: с from до to часов (UTC).
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(force = true, access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DeliveryPeriod extends ValueObject<DeliveryPeriod> {
+    private static final int MIN_HOUR = 0;
+    private static final int MAX_HOUR = 24;
+
+    @Column(name = "delivery_period_from")
+    private final int from;
+
+    @Column(name = "delivery_period_to")
+    private final int to;
+
+    public static Result<DeliveryPeriod, Error> create(int from, int to) {
+        var err = Guard.combine(
+                Guard.againstOutOfRange(from, MIN_HOUR, MAX_HOUR, "from"),
+                Guard.againstOutOfRange(to, MIN_HOUR, MAX_HOUR, "to"));
+        if (err != null)
+            return Result.failure(err);
+        if (to <= from)
+            return Result.failure(GeneralErrors.valueMustBeGreaterThan("to", to, from));
+
+        return Result.success(new DeliveryPeriod(from, to));
+    }
+
+    public static DeliveryPeriod mustCreate(int from, int to) {
+        return create(from, to).getValueOrThrow();
+    }
+
+    /**
+     * Ближайший после moment конец окна доставки.
+     */
+    public Instant deadlineAfter(Instant moment) {
+        var deadline = moment.truncatedTo(ChronoUnit.DAYS).plus(this.to, ChronoUnit.HOURS);
+        return deadline.isBefore(moment) ? deadline.plus(1, ChronoUnit.DAYS) : deadline;
+    }
+
+    @Override
+    protected Iterable<Object> equalityComponents() {
+        return List.of(this.from, this.to);
+    }
+}
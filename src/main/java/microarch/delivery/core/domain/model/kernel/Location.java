@@ -2,7 +2,7 @@ package microarch.delivery.core.domain.model.kernel;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
-import libs.ddd.ValueObject;
+import libs.ddd.PrimitiveValueObject;
 import libs.errs.Error;
 import libs.errs.GeneralErrors;
 import libs.errs.Result;
@@ -18,12 +18,13 @@ import java.util.Objects;
 @Getter
 @NoArgsConstructor(force = true, access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public final class Location extends ValueObject<Location> {
+public final class Location extends PrimitiveValueObject<Location> {
 
     private static final int MIN_X = 1;
     private static final int MIN_Y = 1;
-    private static final int MAX_X = 10;
-    private static final int MAX_Y = 10;
+
+    // Точки с координатами до INTERN_SIDE обслуживаются заранее созданными экземплярами, дальние - новыми объектами
+    private static final int INTERN_SIDE = 512;
 
     @Column(name = "location_x")
     private final int x;
@@ -31,27 +32,87 @@ public final class Location extends ValueObject<Location> {
     @Column(name = "location_y")
     private final int y;
 
-    public static Result<Location, Error> create(int x, int y) {
-        if (x < 1 || x > 10) return Result.failure(GeneralErrors.valueIsOutOfRange("x", x, MIN_X, MAX_X));
-        if (y < 1 || y > 10) return Result.failure(GeneralErrors.valueIsOutOfRange("y", y, MIN_Y, MAX_Y));
+    /**
+     * Точка на карте bounds. Границы карты задаются конфигурацией (app.map), поэтому передаются явно.
+     */
+    public static Result<Location, Error> create(int x, int y, MapBounds bounds) {
+        Objects.requireNonNull(bounds, "bounds");
+        if (x < MIN_X || x > bounds.getWidth())
+            return Result.failure(GeneralErrors.valueIsOutOfRange("x", x, MIN_X, bounds.getWidth()));
+        if (y < MIN_Y || y > bounds.getHeight())
+            return Result.failure(GeneralErrors.valueIsOutOfRange("y", y, MIN_Y, bounds.getHeight()));
+
+        return Result.success(of(x, y));
+    }
 
-        return Result.success(new Location(x, y));
+    public static Location mustCreate(int x, int y, MapBounds bounds) {
+        if (!bounds.contains(x, y))
+            return create(x, y, bounds).getValueOrThrow();
+        return of(x, y);
     }
 
-    public static Location mustCreate(int x, int y) {
-        return create(x, y).getValueOrThrow();
+    // Координаты уже проверены
+    private static Location of(int x, int y) {
+        if (x > INTERN_SIDE || y > INTERN_SIDE)
+            return new Location(x, y);
+
+        var table = Interned.TABLE;
+        int index = (y - MIN_Y) * INTERN_SIDE + (x - MIN_X);
+        var location = table[index];
+        // Гонка при заполнении безопасна: оба потока создадут равные экземпляры
+        if (location == null) {
+            location = new Location(x, y);
+            table[index] = location;
+        }
+        return location;
+    }
+
+    // Таблица создается при первом обращении
+    private static final class Interned {
+        static final Location[] TABLE = new Location[INTERN_SIDE * INTERN_SIDE];
+    }
+
+    /**
+     * Точка на пути к target не дальше steps клеток: сначала по x, затем по y.
+     * Лежит между двумя точками карты, поэтому границы карты не проверяются.
+     */
+    public Location stepTowards(Location target, int steps) {
+        Objects.requireNonNull(target, "target");
+
+        int moveX = Math.max(-steps, Math.min(target.x - this.x, steps));
+        steps -= Math.abs(moveX);
+        int moveY = Math.max(-steps, Math.min(target.y - this.y, steps));
+
+        return of(this.x + moveX, this.y + moveY);
     }
 
     public Result<Integer, Error> distanceTo(Location target) {
         Objects.requireNonNull(target, "target");
 
-        int distance = Math.abs(this.x - target.x) + Math.abs(this.y - target.y);
+        return Result.success(manhattanDistance(target));
+    }
 
-        return Result.success(distance);
+    /**
+     * То же, что distanceTo, но без упаковки результата - для горячих циклов диспетчеризации.
+     */
+    public int manhattanDistance(Location target) {
+        return Math.abs(this.x - target.x) + Math.abs(this.y - target.y);
     }
 
     @Override
     protected Iterable<Object> equalityComponents() {
         return List.of(this.x, this.y);
     }
+
+    // Координаты положительны, поэтому порядок ключей совпадает с порядком сначала по x, затем по y
+    @Override
+    protected long primitiveKey() {
+        return ((long) this.x << 32) | this.y;
+    }
+
+    @Override
+    public int hashCode() {
+        // Long.hashCode(key) дал бы x ^ y и массовые коллизии на сетке - оставляем Objects.hash(x, y)
+        return (31 + x) * 31 + y;
+    }
 }
\ No newline at end of file
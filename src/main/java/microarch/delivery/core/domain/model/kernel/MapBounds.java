@@ -0,0 +1,47 @@
+package microarch.delivery.core.domain.model.kernel;
+
+import libs.ddd.ValueObject;
+import libs.errs.Error;
+import libs.errs.GeneralErrors;
+import libs.errs.Result;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Размер карты в клетках: x в 1..width, y в 1..height.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MapBounds extends ValueObject<MapBounds> {
+    private static final int MIN_SIZE = 1;
+
+    public static final MapBounds DEFAULT = new MapBounds(10, 10);
+
+    private final int width;
+    private final int height;
+
+    public static Result<MapBounds, Error> create(int width, int height) {
+        if (width < MIN_SIZE)
+            return Result.failure(GeneralErrors.valueMustBeGreaterOrEqual("width", width, MIN_SIZE));
+        if (height < MIN_SIZE)
+            return Result.failure(GeneralErrors.valueMustBeGreaterOrEqual("height", height, MIN_SIZE));
+
+        return Result.success(new MapBounds(width, height));
+    }
+
+    public static MapBounds mustCreate(int width, int height) {
+        return create(width, height).getValueOrThrow();
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= MIN_SIZE && x <= width && y >= MIN_SIZE && y <= height;
+    }
+
+    @Override
+    protected Iterable<Object> equalityComponents() {
+        return List.of(this.width, this.height);
+    }
+}
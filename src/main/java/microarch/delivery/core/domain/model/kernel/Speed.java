@@ -2,7 +2,7 @@ package microarch.delivery.core.domain.model.kernel;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
-import libs.ddd.ValueObject;
+import libs.ddd.PrimitiveValueObject;
 import libs.errs.Error;
 import libs.errs.GeneralErrors;
 import libs.errs.Result;
@@ -17,10 +17,15 @@ import java.util.List;
 @Getter
 @NoArgsConstructor(force = true, access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public class Speed extends ValueObject<Speed> {
+public class Speed extends PrimitiveValueObject<Speed> {
 
     private static final int MIN_VALUE = 1;
 
+    // Готовые значения ceil(distance / speed) для типичных скоростей и расстояний карты
+    private static final int TABLE_MAX_SPEED = 8;
+    private static final int TABLE_MAX_DISTANCE = 64;
+    private static final int[][] TICKS_TABLE = buildTicksTable();
+
     @Column(name = "speed")
     private final int value;
 
@@ -51,6 +56,38 @@ public class Speed extends ValueObject<Speed> {
         return this.compareTo(other) >= 0;
     }
 
+    /**
+     * Число тиков, за которое курьер с этой скоростью проходит distance клеток.
+     */
+    public int ticksToCover(int distance) {
+        return ticksToCover(value, distance);
+    }
+
+    /**
+     * Число тиков, за которое курьер со скоростью speed проходит distance клеток.
+     * Для расчетов по снимкам в примитивах, где скорость хранится как int.
+     */
+    public static int ticksToCover(int speed, int distance) {
+        if (speed <= TABLE_MAX_SPEED && distance >= 0 && distance <= TABLE_MAX_DISTANCE)
+            return TICKS_TABLE[speed][distance];
+        return (distance + speed - 1) / speed;
+    }
+
+    private static int[][] buildTicksTable() {
+        var table = new int[TABLE_MAX_SPEED + 1][TABLE_MAX_DISTANCE + 1];
+        for (int speed = MIN_VALUE; speed <= TABLE_MAX_SPEED; speed++) {
+            for (int distance = 0; distance <= TABLE_MAX_DISTANCE; distance++) {
+                table[speed][distance] = (distance + speed - 1) / speed;
+            }
+        }
+        return table;
+    }
+
+    @Override
+    protected long primitiveKey() {
+        return this.value;
+    }
+
     @Override
     protected Iterable<Object> equalityComponents() {
         return List.of(this.value);
@@ -2,7 +2,7 @@ package microarch.delivery.core.domain.model.kernel;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
-import libs.ddd.ValueObject;
+import libs.ddd.PrimitiveValueObject;
 import libs.errs.Error;
 import libs.errs.GeneralErrors;
 import libs.errs.Result;
@@ -17,7 +17,7 @@ import java.util.List;
 @Getter
 @NoArgsConstructor(force = true, access = AccessLevel.PROTECTED)
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
-public final class Volume extends ValueObject<Volume> {
+public final class Volume extends PrimitiveValueObject<Volume> {
     private static final int  MIN_VALUE = 1;
 
     @Column(name = "volume")
@@ -34,6 +34,11 @@ public final class Volume extends ValueObject<Volume> {
         return create(value).getValueOrThrow();
     }
 
+    @Override
+    protected long primitiveKey() {
+        return this.value;
+    }
+
     @Override
     protected Iterable<Object> equalityComponents() {
         return List.of(this.value);
@@ -13,11 +13,14 @@ import libs.errs.UnitResult;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import microarch.delivery.core.domain.model.kernel.DeliveryPeriod;
 import microarch.delivery.core.domain.model.kernel.Location;
 import microarch.delivery.core.domain.model.kernel.Volume;
 import microarch.delivery.core.domain.model.order.event.OrderCompletedDomainEvent;
 import microarch.delivery.core.domain.model.order.event.OrderCreatedDomainEvent;
 
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -27,6 +30,11 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order extends Aggregate<UUID> {
 
+    // Первыми распределяются заказы, которые нужно доставить раньше. Заказ без окна доставки нужно везти сразу,
+    // его срок - момент создания. Тот же порядок у очереди в базе: COALESCE(delivery_deadline, created_at) NULLS FIRST
+    public static final Comparator<Order> BY_URGENCY =
+            Comparator.comparing(Order::getDueAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+
     @Embedded
     private Location location;
 
@@ -40,20 +48,41 @@ public class Order extends Aggregate<UUID> {
     @Column(name = "courier_id")
     private UUID courierId;
 
-    private Order(UUID id, Location location, Volume volume) {
+    // Момент создания - по нему находятся заказы, которые долго не может назначить ни один экземпляр
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    // Окно доставки из корзины, у заказов без окна - null
+    @Embedded
+    private DeliveryPeriod deliveryPeriod;
+
+    // Конец окна доставки, ближайший к моменту создания - по нему упорядочивается очередь распределения
+    @Column(name = "delivery_deadline")
+    private Instant deliveryDeadline;
+
+    private Order(UUID id, Location location, Volume volume, DeliveryPeriod deliveryPeriod) {
         super(id);
         this.location = location;
         this.volume = volume;
         this.status = OrderStatus.CREATED;
+        this.createdAt = Instant.now();
+        this.deliveryPeriod = deliveryPeriod;
+        this.deliveryDeadline = deliveryPeriod != null ? deliveryPeriod.deadlineAfter(this.createdAt) : null;
         raiseDomainEvent(new OrderCreatedDomainEvent(this));
     }
 
     public static Result<Order, Error> create(UUID basketId, Location location, Volume volume) {
+        return create(basketId, location, volume, null);
+    }
+
+    // deliveryPeriod - null, если покупатель не выбрал окно доставки
+    public static Result<Order, Error> create(UUID basketId, Location location, Volume volume,
+            DeliveryPeriod deliveryPeriod) {
         Objects.requireNonNull(basketId, "basketId");
         Objects.requireNonNull(location, "location");
-        Objects.requireNonNull(location, "volume");
+        Objects.requireNonNull(volume, "volume");
 
-        var order = new Order(basketId, location, volume);
+        var order = new Order(basketId, location, volume, deliveryPeriod);
         return Result.success(order);
     }
 
@@ -61,6 +90,17 @@ public class Order extends Aggregate<UUID> {
         return create(basketId, location, volume).getValueOrThrow();
     }
 
+    public static Order mustCreate(UUID basketId, Location location, Volume volume, DeliveryPeriod deliveryPeriod) {
+        return create(basketId, location, volume, deliveryPeriod).getValueOrThrow();
+    }
+
+    /**
+     * Срок, к которому заказ нужно доставить: конец окна доставки, а у заказа без окна - момент создания.
+     */
+    public Instant getDueAt() {
+        return deliveryDeadline != null ? deliveryDeadline : createdAt;
+    }
+
     public UnitResult<Error> assign(UUID courierId) {
         Objects.requireNonNull(courierId, "courierId");
         this.courierId = courierId;
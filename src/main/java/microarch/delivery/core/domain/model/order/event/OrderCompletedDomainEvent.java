@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import microarch.delivery.core.domain.model.order.Order;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @NoArgsConstructor(force = true, access = AccessLevel.PROTECTED)
@@ -19,4 +20,11 @@ public class OrderCompletedDomainEvent extends DomainEvent {
         this.orderId = order.getId();
         this.courierId = order.getCourierId();
     }
+
+    // Восстановление события из интеграционного сообщения
+    public OrderCompletedDomainEvent(UUID eventId, Instant occurredOnUtc, UUID orderId, UUID courierId) {
+        super(orderId, eventId, occurredOnUtc);
+        this.orderId = orderId;
+        this.courierId = courierId;
+    }
 }
@@ -6,6 +6,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import microarch.delivery.core.domain.model.order.Order;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @NoArgsConstructor(force = true, access = AccessLevel.PROTECTED)
@@ -17,4 +18,10 @@ public class OrderCreatedDomainEvent extends DomainEvent {
         super(order);
         this.orderId = order.getId();
     }
+
+    // Восстановление события из интеграционного сообщения
+    public OrderCreatedDomainEvent(UUID eventId, Instant occurredOnUtc, UUID orderId) {
+        super(orderId, eventId, occurredOnUtc);
+        this.orderId = orderId;
+    }
 }
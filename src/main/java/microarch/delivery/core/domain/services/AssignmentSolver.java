@@ -0,0 +1,111 @@
+package microarch.delivery.core.domain.services;
+
+import java.util.Arrays;
+
+/**
+ * Венгерский алгоритм для прямоугольной матрицы стоимостей.
+ * Находит назначение строк на столбцы с минимальной суммарной стоимостью за O(n^2 * m).
+ */
+final class AssignmentSolver {
+
+    // Пара, которую нельзя назначать (курьер не может взять заказ)
+    static final int FORBIDDEN = Integer.MAX_VALUE;
+
+    // Должно быть больше суммы любых допустимых стоимостей, чтобы запрещенные пары выбирались в последнюю очередь
+    private static final long FORBIDDEN_COST = 1L << 40;
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private AssignmentSolver() {
+    }
+
+    /**
+     * @param cost матрица rows x cols, FORBIDDEN для недопустимых пар
+     * @return для каждой строки индекс назначенного столбца либо -1
+     */
+    static int[] solve(int[][] cost, int rows, int cols) {
+        var assignment = new int[rows];
+        Arrays.fill(assignment, -1);
+        if (rows == 0 || cols == 0)
+            return assignment;
+
+        if (rows <= cols) {
+            var rowToCol = solveWide(cost, rows, cols, false);
+            for (int i = 0; i < rows; i++) {
+                if (rowToCol[i] >= 0 && cost[i][rowToCol[i]] != FORBIDDEN)
+                    assignment[i] = rowToCol[i];
+            }
+        } else {
+            // Строк больше чем столбцов - решаем транспонированную задачу
+            var colToRow = solveWide(cost, cols, rows, true);
+            for (int j = 0; j < cols; j++) {
+                var i = colToRow[j];
+                if (i >= 0 && cost[i][j] != FORBIDDEN)
+                    assignment[i] = j;
+            }
+        }
+        return assignment;
+    }
+
+    private static long at(int[][] cost, int row, int col, boolean transposed) {
+        int value = transposed ? cost[col][row] : cost[row][col];
+        return value == FORBIDDEN ? FORBIDDEN_COST : value;
+    }
+
+    // Классическая реализация с потенциалами, n <= m, индексация с единицы
+    private static int[] solveWide(int[][] cost, int n, int m, boolean transposed) {
+        var u = new long[n + 1];
+        var v = new long[m + 1];
+        var p = new int[m + 1];
+        var way = new int[m + 1];
+        var minv = new long[m + 1];
+        var used = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, INF);
+            Arrays.fill(used, false);
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                long delta = INF;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (used[j])
+                        continue;
+                    long cur = at(cost, i0 - 1, j - 1, transposed) - u[i0] - v[j];
+                    if (cur < minv[j]) {
+                        minv[j] = cur;
+                        way[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        var result = new int[n];
+        Arrays.fill(result, -1);
+        for (int j = 1; j <= m; j++) {
+            if (p[j] != 0)
+                result[p[j] - 1] = j - 1;
+        }
+        return result;
+    }
+}
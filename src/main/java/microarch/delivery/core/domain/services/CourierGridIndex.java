@@ -0,0 +1,137 @@
+package microarch.delivery.core.domain.services;
+
+/**
+ * Пространственный индекс курьеров: карта делится на квадратные ячейки, курьеры раскладываются по ячейкам.
+ * Поиск самого быстрого курьера идет кольцами от ячейки заказа и останавливается,
+ * как только нижняя оценка времени доставки для следующего кольца хуже уже найденного курьера.
+ * Координаты, скорости и свободный объем берутся из CourierSnapshot, поэтому курьеры, исключенные
+ * или обновленные в снимке, сразу учитываются при поиске.
+ */
+final class CourierGridIndex {
+
+    // Среднее число курьеров в ячейке
+    private static final int COURIERS_PER_CELL = 2;
+
+    private final CourierSnapshot snapshot;
+
+    private final int minX;
+    private final int minY;
+    private final int cellSize;
+    private final int cols;
+    private final int rows;
+
+    // Ячейки в виде CSR: курьеры ячейки c лежат в cellItems[cellStart[c] .. cellStart[c + 1])
+    private final int[] cellStart;
+    private final int[] cellItems;
+
+    private final int maxSpeed;
+
+    CourierGridIndex(CourierSnapshot snapshot) {
+        this.snapshot = snapshot;
+        int size = snapshot.size;
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        int maxSpeed = 1;
+        for (int i = 0; i < size; i++) {
+            minX = Math.min(minX, snapshot.x[i]);
+            minY = Math.min(minY, snapshot.y[i]);
+            maxX = Math.max(maxX, snapshot.x[i]);
+            maxY = Math.max(maxY, snapshot.y[i]);
+            maxSpeed = Math.max(maxSpeed, snapshot.speed[i]);
+        }
+        if (size == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+
+        long area = ((long) maxX - minX + 1) * ((long) maxY - minY + 1);
+        long cellsWanted = Math.max(1, size / COURIERS_PER_CELL);
+        this.cellSize = (int) Math.max(1, Math.ceil(Math.sqrt((double) area / cellsWanted)));
+        this.minX = minX;
+        this.minY = minY;
+        this.cols = (maxX - minX) / cellSize + 1;
+        this.rows = (maxY - minY) / cellSize + 1;
+        this.maxSpeed = maxSpeed;
+
+        // Раскладываем курьеров по ячейкам подсчетом
+        this.cellStart = new int[cols * rows + 1];
+        var cellOf = new int[size];
+        for (int i = 0; i < size; i++) {
+            cellOf[i] = cellIndex(column(snapshot.x[i]), row(snapshot.y[i]));
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cols * rows; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        this.cellItems = new int[size];
+        var fill = cellStart.clone();
+        for (int i = 0; i < size; i++) {
+            cellItems[fill[cellOf[i]]++] = i;
+        }
+    }
+
+    /**
+     * Индекс самого быстрого до точки (targetX, targetY) курьера, способного принять заказ объемом volume, либо -1.
+     * При равном времени доставки выигрывает курьер с меньшим id, как и при полном переборе снимка.
+     */
+    int findFastest(int targetX, int targetY, int volume) {
+        int startCol = clamp(column(targetX), cols);
+        int startRow = clamp(row(targetY), rows);
+        int maxRing = Math.max(Math.max(startCol, cols - 1 - startCol), Math.max(startRow, rows - 1 - startRow));
+
+        int best = -1;
+        int bestTime = Integer.MAX_VALUE;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best >= 0 && lowerBoundTime(ring) > bestTime)
+                break;
+
+            int fromCol = startCol - ring, toCol = startCol + ring;
+            int fromRow = startRow - ring, toRow = startRow + ring;
+            for (int r = Math.max(0, fromRow); r <= Math.min(rows - 1, toRow); r++) {
+                boolean edgeRow = r == fromRow || r == toRow;
+                // На внутренних строках кольца берем только крайние ячейки
+                int step = edgeRow || ring == 0 ? 1 : toCol - fromCol;
+                for (int c = fromCol; c <= toCol; c += step) {
+                    if (c < 0 || c >= cols)
+                        continue;
+                    int cell = cellIndex(c, r);
+                    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                        int i = cellItems[k];
+                        if (snapshot.maxFreeVolume[i] < volume)
+                            continue;
+                        int time = snapshot.deliveryTime(i, targetX, targetY);
+                        if (snapshot.isFaster(i, time, best, bestTime)) {
+                            best = i;
+                            bestTime = time;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // Курьер в кольце ring находится не ближе (ring - 1) * cellSize + 1 по одной из осей
+    private int lowerBoundTime(int ring) {
+        if (ring == 0)
+            return 0;
+        long distance = (long) (ring - 1) * cellSize + 1;
+        return (int) ((distance + maxSpeed - 1) / maxSpeed);
+    }
+
+    private int column(int x) {
+        return Math.floorDiv(x - minX, cellSize);
+    }
+
+    private int row(int y) {
+        return Math.floorDiv(y - minY, cellSize);
+    }
+
+    private int cellIndex(int col, int row) {
+        return row * cols + col;
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+}
@@ -0,0 +1,104 @@
+package microarch.delivery.core.domain.services;
+
+import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.courier.StoragePlace;
+import microarch.delivery.core.domain.model.kernel.Speed;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Снимок пула курьеров для одной пачки распределения в виде параллельных массивов примитивов.
+ * Цикл оценки курьеров идет по массивам, не трогая сущности Hibernate с их value object-ами и списками мест хранения.
+ * Индекс курьера в снимке совпадает с его индексом в исходном списке.
+ */
+final class CourierSnapshot {
+
+    final int size;
+    final int[] x;
+    final int[] y;
+    final int[] speed;
+    // Объем наибольшего пустого места хранения, 0 - курьер не может взять заказ
+    final int[] maxFreeVolume;
+    final UUID[] id;
+
+    private CourierSnapshot(int size) {
+        this.size = size;
+        this.x = new int[size];
+        this.y = new int[size];
+        this.speed = new int[size];
+        this.maxFreeVolume = new int[size];
+        this.id = new UUID[size];
+    }
+
+    static CourierSnapshot of(List<Courier> couriers) {
+        var snapshot = new CourierSnapshot(couriers.size());
+        for (int i = 0; i < couriers.size(); i++) {
+            var courier = couriers.get(i);
+            snapshot.x[i] = courier.getLocation().getX();
+            snapshot.y[i] = courier.getLocation().getY();
+            snapshot.speed[i] = courier.getSpeed().getValue();
+            snapshot.id[i] = courier.getId();
+            snapshot.refresh(i, courier);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Перечитывает свободный объем курьера (например, после того как он взял заказ).
+     */
+    void refresh(int index, Courier courier) {
+        int max = 0;
+        for (var storagePlace : courier.getStoragePlaces()) {
+            if (storagePlace.isEmpty())
+                max = Math.max(max, totalVolume(storagePlace));
+        }
+        maxFreeVolume[index] = max;
+    }
+
+    /**
+     * Исключает курьера из дальнейшего поиска.
+     */
+    void exclude(int index) {
+        maxFreeVolume[index] = 0;
+    }
+
+    int deliveryTime(int index, int targetX, int targetY) {
+        int distance = Math.abs(x[index] - targetX) + Math.abs(y[index] - targetY);
+        // Тот же расчет, что у Courier.deliveryTimeTo
+        return Speed.ticksToCover(speed[index], distance);
+    }
+
+    /**
+     * Индекс самого быстрого до точки курьера со свободным местом не меньше volume, либо -1.
+     * При равном времени выигрывает курьер с меньшим id.
+     */
+    int findFastest(int targetX, int targetY, int volume) {
+        int best = -1;
+        int bestTime = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (maxFreeVolume[i] < volume)
+                continue;
+            int time = deliveryTime(i, targetX, targetY);
+            if (isFaster(i, time, best, bestTime)) {
+                best = i;
+                bestTime = time;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Курьер index со временем time лучше текущего лучшего best: быстрее либо при равном времени с меньшим id.
+     * Тот же порядок, что у OrderDispatcherImpl.dispatch, поэтому выбор не зависит от порядка курьеров в пуле.
+     */
+    boolean isFaster(int index, int time, int best, int bestTime) {
+        if (time != bestTime)
+            return time < bestTime;
+        return best < 0 || id[index].compareTo(id[best]) < 0;
+    }
+
+    private static int totalVolume(StoragePlace storagePlace) {
+        return storagePlace.getTotalVolume().getValue();
+    }
+}
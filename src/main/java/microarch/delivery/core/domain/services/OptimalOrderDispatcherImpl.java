@@ -0,0 +1,159 @@
+package microarch.delivery.core.domain.services;
+
+import libs.errs.Error;
+import libs.errs.Result;
+import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.Volume;
+import microarch.delivery.core.domain.model.order.Order;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Распределяет пачку заказов так, чтобы суммарное время доставки по всем заказам было минимальным
+ * (задача о назначениях), а не жадно выбирает лучшего курьера для каждого заказа по очереди.
+ * В режиме multiOrder назначение идет не на курьера, а на свободное место хранения курьера,
+ * поэтому один курьер может получить несколько заказов пачки.
+ */
+public class OptimalOrderDispatcherImpl implements OrderDispatcher {
+
+    private final boolean multiOrder;
+
+    public OptimalOrderDispatcherImpl() {
+        this(false);
+    }
+
+    public OptimalOrderDispatcherImpl(boolean multiOrder) {
+        this.multiOrder = multiOrder;
+    }
+
+    @Override
+    public Result<Courier, Error> dispatch(Order order, List<Courier> couriers) {
+        Objects.requireNonNull(order, "order");
+        Objects.requireNonNull(couriers, "couriers");
+        if (order.isNotCreated()) {
+            return Result.failure(Errors.orderIsNotCreated(order.getId()));
+        }
+
+        var courier = dispatchAll(List.of(order), couriers).get(order);
+        return courier != null
+                ? Result.success(courier)
+                : Result.failure(Errors.courierIsNotFoundForOrder(order.getId()));
+    }
+
+    @Override
+    public Map<Order, Courier> dispatchAll(List<Order> orders, List<Courier> couriers) {
+        Objects.requireNonNull(orders, "orders");
+        Objects.requireNonNull(couriers, "couriers");
+
+        var createdOrders = orders.stream().filter(order -> !order.isNotCreated()).toList();
+        if (multiOrder)
+            return dispatchToStoragePlaces(createdOrders, couriers);
+
+        var freeCouriers = couriers.stream().filter(Courier::hasNoActiveOrders).toList();
+
+        var assignments = new LinkedHashMap<Order, Courier>();
+        if (createdOrders.isEmpty() || freeCouriers.isEmpty())
+            return assignments;
+
+        var cost = buildCostMatrix(createdOrders, freeCouriers);
+        var orderToCourier = AssignmentSolver.solve(cost, createdOrders.size(), freeCouriers.size());
+
+        for (int i = 0; i < orderToCourier.length; i++) {
+            if (orderToCourier[i] < 0)
+                continue;
+            var order = createdOrders.get(i);
+            var courier = freeCouriers.get(orderToCourier[i]);
+            var result = courier.takeOrder(order.getId(), order.getVolume());
+            if (result.isSuccess()) {
+                order.assign(courier.getId());
+                assignments.put(order, courier);
+            }
+        }
+        return assignments;
+    }
+
+    private Map<Order, Courier> dispatchToStoragePlaces(List<Order> orders, List<Courier> couriers) {
+        // Столбец матрицы - пустое место хранения курьера
+        var slotCouriers = new ArrayList<Courier>();
+        var slotVolumes = new ArrayList<Volume>();
+        for (var courier : couriers) {
+            for (var storagePlace : courier.getStoragePlaces()) {
+                if (storagePlace.isEmpty()) {
+                    slotCouriers.add(courier);
+                    slotVolumes.add(storagePlace.getTotalVolume());
+                }
+            }
+        }
+
+        var assignments = new LinkedHashMap<Order, Courier>();
+        if (orders.isEmpty() || slotCouriers.isEmpty())
+            return assignments;
+
+        var cost = new int[orders.size()][slotCouriers.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            var order = orders.get(i);
+            for (int j = 0; j < slotCouriers.size(); j++) {
+                cost[i][j] = slotVolumes.get(j).isGreaterOrEqual(order.getVolume())
+                        ? slotCouriers.get(j).deliveryTimeTo(order.getLocation())
+                        : AssignmentSolver.FORBIDDEN;
+            }
+        }
+        var orderToSlot = AssignmentSolver.solve(cost, orders.size(), slotCouriers.size());
+
+        // Courier.takeOrder сам выбирает наименьшее подходящее место. Если раздавать курьеру заказы
+        // от крупных к мелким, найденная раскладка по местам всегда воспроизводится
+        var matched = new ArrayList<Integer>();
+        for (int i = 0; i < orderToSlot.length; i++) {
+            if (orderToSlot[i] >= 0)
+                matched.add(i);
+        }
+        matched.sort(Comparator.comparing((Integer i) -> orders.get(i).getVolume()).reversed());
+
+        for (int i : matched) {
+            var order = orders.get(i);
+            var courier = slotCouriers.get(orderToSlot[i]);
+            if (courier.takeOrder(order.getId(), order.getVolume()).isSuccess()) {
+                order.assign(courier.getId());
+                assignments.put(order, courier);
+            }
+        }
+        return assignments;
+    }
+
+    static int[][] buildCostMatrix(List<Order> orders, List<Courier> couriers) {
+        // Матрица считается по снимку курьеров: orders x couriers оценок без обращения к сущностям
+        var snapshot = CourierSnapshot.of(couriers);
+        var cost = new int[orders.size()][couriers.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            var order = orders.get(i);
+            int x = order.getLocation().getX();
+            int y = order.getLocation().getY();
+            int volume = order.getVolume().getValue();
+            var row = cost[i];
+            for (int j = 0; j < snapshot.size; j++) {
+                row[j] = snapshot.maxFreeVolume[j] >= volume
+                        ? snapshot.deliveryTime(j, x, y)
+                        : AssignmentSolver.FORBIDDEN;
+            }
+        }
+        return cost;
+    }
+
+    private static class Errors {
+        public static Error orderIsNotCreated(UUID orderId) {
+            return Error.of("order.is.not.created",
+                    "Заказ %s не находится в статусе CREATED", orderId);
+        }
+
+        public static Error courierIsNotFoundForOrder(UUID orderId) {
+            return Error.of("courier.is.not.found.order",
+                    "Не найдено курьера для доставки заказа %s", orderId);
+        }
+    }
+}
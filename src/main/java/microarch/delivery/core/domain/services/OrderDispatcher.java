@@ -6,7 +6,14 @@ import microarch.delivery.core.domain.model.courier.Courier;
 import microarch.delivery.core.domain.model.order.Order;
 
 import java.util.List;
+import java.util.Map;
 
 public interface OrderDispatcher {
     Result<Courier, Error> dispatch(Order order, List<Courier> couriers);
+
+    /**
+     * Распределяет пачку заказов по общему пулу курьеров.
+     * Возвращает только состоявшиеся назначения: заказ -> курьер.
+     */
+    Map<Order, Courier> dispatchAll(List<Order> orders, List<Courier> couriers);
 }
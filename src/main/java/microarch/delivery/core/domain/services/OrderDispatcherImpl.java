@@ -4,16 +4,40 @@ import libs.errs.Error;
 import libs.errs.Result;
 import microarch.delivery.core.domain.model.courier.Courier;
 import microarch.delivery.core.domain.model.order.Order;
-import org.springframework.stereotype.Service;
 
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
-@Service
 public class OrderDispatcherImpl implements OrderDispatcher {
 
+    // Начиная с этого размера пула курьеров пачка распределяется через пространственный индекс.
+    // AssignOrderCommandHandler захватывает app.dispatch.courier-fan-out курьеров на заказ, поэтому при fan-out 8
+    // индекс включается на пачках от 32 заказов
+    static final int SPATIAL_INDEX_THRESHOLD = 256;
+
+    // Начиная с этого размера пула курьеры для одного заказа оцениваются параллельно в ForkJoinPool.
+    // Захват курьеров в AssignOrderCommandHandler дает такой пул одному заказу только при courier-fan-out от 4096;
+    // порог рассчитан на вызывающих, которые передают весь парк
+    static final int PARALLEL_SCORING_THRESHOLD = 4096;
+    private static final int PARALLEL_SCORING_CHUNK = 1024;
+
+    // Курьер может везти несколько заказов - по одному в каждом свободном месте хранения
+    private final boolean multiOrder;
+
+    public OrderDispatcherImpl() {
+        this(false);
+    }
+
+    public OrderDispatcherImpl(boolean multiOrder) {
+        this.multiOrder = multiOrder;
+    }
+
     @Override
     public Result<Courier, Error> dispatch(Order order, List<Courier> couriers) {
         Objects.requireNonNull(order, "order");
@@ -22,32 +46,155 @@ public class OrderDispatcherImpl implements OrderDispatcher {
             return Result.failure(Errors.orderIsNotCreated(order.getId()));
         }
 
-        return couriers.stream()
-                .filter(courier -> courier.canPlaceOrder(order.getVolume()))
-                .filter(Courier::hasNoActiveOrders)
-                .min(Comparator.comparing(courier -> courier.calculateDeliveryTime(order.getLocation()).getValueOrThrow()))
-                .map(courier -> {
-                    var result = courier.takeOrder(order.getId(), order.getVolume());
-                    if (result.isSuccess()) {
-                        order.assign(courier.getId());
-                        return Result.success(courier);
-                    } else {
-                        return Result.<Courier, Error>failure(result.getError());
-                    }
-                })
-                .orElse(Result.failure(Errors.courierIsNotFoundForOrder(order.getId())));
+        var best = couriers.size() >= PARALLEL_SCORING_THRESHOLD
+                ? ForkJoinPool.commonPool().invoke(new FastestCourierTask(order, couriers, 0, couriers.size()))
+                : findFastest(order, couriers);
+
+        if (best == null)
+            return Result.failure(Errors.courierIsNotFoundForOrder(order.getId()));
+
+        var result = best.takeOrder(order.getId(), order.getVolume());
+        if (result.isFailure())
+            return Result.failure(result.getError());
+
+        order.assign(best.getId());
+        return Result.success(best);
+    }
+
+    // Обычный цикл вместо stream().min(comparator): время доставки считается один раз на курьера и без упаковки.
+    // При равном времени выигрывает курьер с меньшим id - как и при параллельной оценке (FastestCourierTask)
+    private Courier findFastest(Order order, List<Courier> couriers) {
+        Courier best = null;
+        int bestTime = Integer.MAX_VALUE;
+        for (var courier : couriers) {
+            if (!isCandidate(courier))
+                continue;
+            int time = courier.deliveryTimeTo(order.getLocation());
+            if (time > bestTime || (time == bestTime && best != null && courier.getId().compareTo(best.getId()) > 0))
+                continue;
+            if (!courier.canPlaceOrder(order.getVolume()))
+                continue;
+            best = courier;
+            bestTime = time;
+        }
+        return best;
+    }
+
+    private boolean isCandidate(Courier courier) {
+        return multiOrder || courier.hasNoActiveOrders();
+    }
+
+    @Override
+    public Map<Order, Courier> dispatchAll(List<Order> orders, List<Courier> couriers) {
+        Objects.requireNonNull(orders, "orders");
+        Objects.requireNonNull(couriers, "couriers");
+
+        // Срочные заказы выбирают курьеров первыми.
+        // В режиме нескольких заказов раскладка по местам хранения идет как bin packing: при равном сроке
+        // крупные заказы первыми, каждый занимает наименьшее подходящее место (Courier.takeOrder)
+        orders = orders.stream()
+                .sorted(multiOrder
+                        ? Order.BY_URGENCY.thenComparing(Comparator.comparing(Order::getVolume).reversed())
+                        : Order.BY_URGENCY)
+                .toList();
+
+        var freeCouriers = couriers.stream()
+                .filter(multiOrder ? Courier::hasEmptyStoragePlace : Courier::hasNoActiveOrders)
+                .toList();
+        // Оценка курьеров идет по снимку в примитивных массивах, сущности трогаем только при назначении
+        var snapshot = CourierSnapshot.of(freeCouriers);
+        // На большом пуле курьер для заказа ищется кольцами от точки доставки, а не полным перебором
+        var index = freeCouriers.size() >= SPATIAL_INDEX_THRESHOLD ? new CourierGridIndex(snapshot) : null;
+
+        var assignments = new LinkedHashMap<Order, Courier>();
+        for (var order : orders) {
+            if (order.isNotCreated())
+                continue;
+
+            int x = order.getLocation().getX();
+            int y = order.getLocation().getY();
+            int volume = order.getVolume().getValue();
+            int found = index != null ? index.findFastest(x, y, volume) : snapshot.findFastest(x, y, volume);
+            if (found < 0)
+                continue;
+
+            var courier = freeCouriers.get(found);
+            if (courier.takeOrder(order.getId(), order.getVolume()).isSuccess()) {
+                order.assign(courier.getId());
+                assignments.put(order, courier);
+            }
+
+            // Без режима нескольких заказов курьер с заказом больше не участвует в распределении
+            if (multiOrder)
+                snapshot.refresh(found, courier);
+            else
+                snapshot.exclude(found);
+        }
+        return assignments;
     }
 
+    /**
+     * Параллельный поиск самого быстрого курьера делением списка пополам.
+     * Результат не зависит от разбиения: при равном времени выигрывает курьер с меньшим id.
+     */
+    private final class FastestCourierTask extends RecursiveTask<Courier> {
+        private final Order order;
+        private final List<Courier> couriers;
+        private final int from;
+        private final int to;
+
+        FastestCourierTask(Order order, List<Courier> couriers, int from, int to) {
+            this.order = order;
+            this.couriers = couriers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Courier compute() {
+            if (to - from <= PARALLEL_SCORING_CHUNK) {
+                Courier best = null;
+                int bestTime = Integer.MAX_VALUE;
+                for (int i = from; i < to; i++) {
+                    var courier = couriers.get(i);
+                    if (!isCandidate(courier) || !courier.canPlaceOrder(order.getVolume()))
+                        continue;
+                    int time = courier.deliveryTimeTo(order.getLocation());
+                    if (time < bestTime || (time == bestTime && courier.getId().compareTo(best.getId()) < 0)) {
+                        best = courier;
+                        bestTime = time;
+                    }
+                }
+                return best;
+            }
+
+            int middle = (from + to) >>> 1;
+            var left = new FastestCourierTask(order, couriers, from, middle);
+            left.fork();
+            var right = new FastestCourierTask(order, couriers, middle, to).compute();
+            return faster(left.join(), right);
+        }
+
+        private Courier faster(Courier a, Courier b) {
+            if (a == null || b == null)
+                return a == null ? b : a;
+            int timeA = a.deliveryTimeTo(order.getLocation());
+            int timeB = b.deliveryTimeTo(order.getLocation());
+            if (timeA != timeB)
+                return timeA < timeB ? a : b;
+            return a.getId().compareTo(b.getId()) <= 0 ? a : b;
+        }
+    }
 
     private static class Errors {
         public static Error orderIsNotCreated(UUID orderId) {
             return Error.of("order.is.not.created",
-                    String.format("Заказ %s не находится в статусе CREATED", orderId));
+                    "Заказ %s не находится в статусе CREATED", orderId);
         }
 
         public static Error courierIsNotFoundForOrder(UUID orderId) {
             return Error.of("courier.is.not.found.order",
-                    String.format("Не найдено курьера для доставки заказа %s", orderId));
+                    "Не найдено курьера для доставки заказа %s", orderId);
         }
     }
 }
@@ -0,0 +1,33 @@
+package microarch.delivery.core.domain.services;
+
+import microarch.delivery.core.domain.model.kernel.Location;
+
+/**
+ * Деление карты на квадратные регионы (тайлы) со стороной tileSize клеток.
+ * Регионы нумеруются построчно: region = tileColumn + tileRow * tilesPerRow.
+ * Та же формула используется в запросах репозиториев, чтобы выбирать заказы и курьеров региона в базе.
+ */
+public final class RegionGrid {
+
+    private final int tileSize;
+    private final int tilesPerRow;
+
+    public RegionGrid(int tileSize, int mapWidth) {
+        if (tileSize < 1)
+            throw new IllegalArgumentException("tileSize must be positive");
+        this.tileSize = tileSize;
+        this.tilesPerRow = (mapWidth + tileSize - 1) / tileSize;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getTilesPerRow() {
+        return tilesPerRow;
+    }
+
+    public int regionOf(Location location) {
+        return (location.getX() - 1) / tileSize + ((location.getY() - 1) / tileSize) * tilesPerRow;
+    }
+}
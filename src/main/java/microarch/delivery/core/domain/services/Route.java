@@ -0,0 +1,34 @@
+package microarch.delivery.core.domain.services;
+
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.order.Order;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Порядок объезда точек доставки заказов orderIds.
+ */
+public record Route(Set<UUID> orderIds, List<Location> stops) {
+
+    /**
+     * Маршрут годится, пока курьеру не добавили заказов - доставленные заказы просто выпадают из него.
+     */
+    public boolean covers(List<Order> orders) {
+        return orders.stream().allMatch(order -> orderIds.contains(order.getId()));
+    }
+
+    /**
+     * Первая по маршруту точка, где еще ждет хотя бы один из заказов orders.
+     */
+    public Location nextTarget(List<Order> orders) {
+        var remaining = new HashSet<Location>();
+        orders.forEach(order -> remaining.add(order.getLocation()));
+        return stops.stream()
+                .filter(remaining::contains)
+                .findFirst()
+                .orElseThrow();
+    }
+}
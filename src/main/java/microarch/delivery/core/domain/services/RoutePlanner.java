@@ -0,0 +1,13 @@
+package microarch.delivery.core.domain.services;
+
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.order.Order;
+
+import java.util.List;
+
+public interface RoutePlanner {
+    /**
+     * Маршрут от точки start, объезжающий точки доставки всех переданных заказов.
+     */
+    Route plan(Location start, List<Order> orders);
+}
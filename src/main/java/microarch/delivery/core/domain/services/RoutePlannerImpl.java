@@ -0,0 +1,146 @@
+package microarch.delivery.core.domain.services;
+
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.order.Order;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Порядок объезда точек доставки по манхэттенскому расстоянию (незамкнутый маршрут от текущей точки курьера).
+ * До EXACT_LIMIT точек маршрут оптимален (динамика Хелда-Карпа), дальше - ближайший сосед, улучшенный 2-opt.
+ */
+public class RoutePlannerImpl implements RoutePlanner {
+
+    static final int EXACT_LIMIT = 10;
+
+    @Override
+    public Route plan(Location start, List<Order> orders) {
+        Objects.requireNonNull(start, "start");
+        Objects.requireNonNull(orders, "orders");
+        if (orders.isEmpty())
+            throw new IllegalArgumentException("orders must not be empty");
+
+        var stops = orders.stream().map(Order::getLocation).distinct().toList();
+        var visit = stops.size() <= EXACT_LIMIT ? exact(start, stops) : twoOpt(start, stops, nearestNeighbour(start, stops));
+
+        var orderIds = orders.stream().map(Order::getId).collect(Collectors.toUnmodifiableSet());
+        return new Route(orderIds, Arrays.stream(visit).mapToObj(stops::get).toList());
+    }
+
+    static int length(Location start, List<Location> stops) {
+        int total = 0;
+        var current = start;
+        for (var stop : stops) {
+            total += distance(current, stop);
+            current = stop;
+        }
+        return total;
+    }
+
+    // dp[mask][j] - кратчайший путь от старта через точки mask с окончанием в j
+    private static int[] exact(Location start, List<Location> stops) {
+        int n = stops.size();
+        int full = (1 << n) - 1;
+        var dp = new int[1 << n][n];
+        var parent = new int[1 << n][n];
+        for (var row : dp) {
+            Arrays.fill(row, Integer.MAX_VALUE);
+        }
+        for (int j = 0; j < n; j++) {
+            dp[1 << j][j] = distance(start, stops.get(j));
+            parent[1 << j][j] = -1;
+        }
+
+        for (int mask = 1; mask <= full; mask++) {
+            for (int j = 0; j < n; j++) {
+                if ((mask & (1 << j)) == 0 || dp[mask][j] == Integer.MAX_VALUE)
+                    continue;
+                for (int k = 0; k < n; k++) {
+                    if ((mask & (1 << k)) != 0)
+                        continue;
+                    int next = mask | (1 << k);
+                    int cost = dp[mask][j] + distance(stops.get(j), stops.get(k));
+                    if (cost < dp[next][k]) {
+                        dp[next][k] = cost;
+                        parent[next][k] = j;
+                    }
+                }
+            }
+        }
+
+        int last = 0;
+        for (int j = 1; j < n; j++) {
+            if (dp[full][j] < dp[full][last])
+                last = j;
+        }
+
+        var visit = new int[n];
+        int mask = full;
+        for (int i = n - 1; i >= 0; i--) {
+            visit[i] = last;
+            int previous = parent[mask][last];
+            mask &= ~(1 << last);
+            last = previous;
+        }
+        return visit;
+    }
+
+    private static int[] nearestNeighbour(Location start, List<Location> stops) {
+        int n = stops.size();
+        var visited = new boolean[n];
+        var visit = new int[n];
+        var current = start;
+        for (int i = 0; i < n; i++) {
+            int best = -1;
+            for (int j = 0; j < n; j++) {
+                if (!visited[j] && (best < 0 || distance(current, stops.get(j)) < distance(current, stops.get(best))))
+                    best = j;
+            }
+            visited[best] = true;
+            visit[i] = best;
+            current = stops.get(best);
+        }
+        return visit;
+    }
+
+    // Разворачиваем участки маршрута, пока это сокращает путь. Старт закреплен, конец маршрута свободен
+    private static int[] twoOpt(Location start, List<Location> stops, int[] visit) {
+        int n = visit.length;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 0; i < n - 1; i++) {
+                var before = i == 0 ? start : stops.get(visit[i - 1]);
+                for (int j = i + 1; j < n; j++) {
+                    var first = stops.get(visit[i]);
+                    var last = stops.get(visit[j]);
+                    int delta = distance(before, last) - distance(before, first);
+                    if (j < n - 1) {
+                        var after = stops.get(visit[j + 1]);
+                        delta += distance(first, after) - distance(last, after);
+                    }
+                    if (delta < 0) {
+                        reverse(visit, i, j);
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return visit;
+    }
+
+    private static void reverse(int[] visit, int from, int to) {
+        while (from < to) {
+            int tmp = visit[from];
+            visit[from++] = visit[to];
+            visit[to--] = tmp;
+        }
+    }
+
+    private static int distance(Location from, Location to) {
+        return from.manhattanDistance(to);
+    }
+}
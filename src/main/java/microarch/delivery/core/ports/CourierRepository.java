@@ -1,7 +1,11 @@
 package microarch.delivery.core.ports;
 
 import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.Volume;
+import microarch.delivery.core.domain.services.RegionGrid;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,7 +13,20 @@ import java.util.UUID;
 public interface CourierRepository {
     Courier save(Courier courier);
 
+    List<Courier> saveAll(Collection<Courier> couriers);
+
     Optional<Courier> findById(UUID courierId);
 
-    List<Courier> findAllAvailable();
+    List<Courier> findAllByIds(Collection<UUID> courierIds);
+
+    /**
+     * Захватывает до конца текущей транзакции не больше limit курьеров, которым поместится заказ объема orderVolume,
+     * начиная с тех, кто быстрее всех доедет до точки near (при равном времени - по id).
+     * Курьеры, уже захваченные другой транзакцией, пропускаются.
+     * includeBusy - подходят и курьеры с заказами, если у них осталось пустое место хранения.
+     */
+    List<Courier> claimWithFreeVolume(Volume orderVolume, boolean includeBusy, Location near, int limit);
+
+    List<Courier> claimInRegions(RegionGrid grid, Collection<Integer> regions, Volume orderVolume, boolean includeBusy,
+            Location near, int limit);
 }
@@ -0,0 +1,12 @@
+package microarch.delivery.core.ports;
+
+import java.time.Duration;
+
+public interface JobLeaseRepository {
+    /**
+     * Забирает очередной запуск задачи name для всего кластера: не чаще одного раза за interval.
+     * Лиз действует в текущей транзакции и при откате не расходуется.
+     * false - этот запуск уже сделал другой экземпляр.
+     */
+    boolean tryAcquire(String name, Duration interval);
+}
@@ -1,7 +1,10 @@
 package microarch.delivery.core.ports;
 
 import microarch.delivery.core.domain.model.order.Order;
+import microarch.delivery.core.domain.services.RegionGrid;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,9 +12,19 @@ import java.util.UUID;
 public interface OrderRepository {
     Order save(Order order);
 
+    List<Order> saveAll(Collection<Order> orders);
+
     Optional<Order> findById(UUID orderId);
 
-    Optional<Order> findAnyCreated();
+    /**
+     * Захватывает до limit новых заказов до конца текущей транзакции.
+     * Заказы, уже захваченные другой транзакцией, пропускаются.
+     */
+    List<Order> claimCreated(int limit);
+
+    List<Order> claimCreatedInRegions(RegionGrid grid, Collection<Integer> regions, int limit);
+
+    List<Order> claimCreatedBefore(Instant before, int limit);
 
     List<Order> findAllAssigned();
 }
@@ -0,0 +1,30 @@
+-- Выполняется после создания схемы Hibernate (spring.jpa.defer-datasource-initialization)
+
+-- Частичный индекс по свободным курьерам: CourierJpaRepository.claimIdsWithFreeVolume.
+-- Скорость и координаты лежат в индексе, время доставки считается без чтения таблицы
+DROP INDEX IF EXISTS ix_courier_available;
+CREATE INDEX IF NOT EXISTS ix_courier_available_position ON courier (id) INCLUDE (speed, location_x, location_y)
+    WHERE busy = false;
+
+-- Пустые места хранения по объему: CourierJpaRepository.claimIdsWithFreeVolume
+CREATE INDEX IF NOT EXISTS ix_storage_place_free_volume ON storage_place (order_id, volume);
+
+-- Очередь распределения: новые заказы по сроку доставки, OrderJpaRepository.claimAllByStatus
+CREATE INDEX IF NOT EXISTS ix_orders_created_due ON orders ((COALESCE(delivery_deadline, created_at)) NULLS FIRST)
+    WHERE status = 'CREATED';
+
+-- Необработанные сообщения outbox по времени возникновения: OutboxJpaRepository.claimUnprocessedMessages
+CREATE INDEX IF NOT EXISTS ix_outbox_unprocessed ON outbox (occurred_on_utc) WHERE processed_on_utc IS NULL;
+
+-- Лизы периодических задач: запуск задачи забирает один экземпляр кластера (JobLeaseRepositoryImpl)
+CREATE TABLE IF NOT EXISTS job_lease
+(
+    name        VARCHAR(64) PRIMARY KEY,
+    next_run_at TIMESTAMPTZ NOT NULL
+);
+
+-- Курьеры, сохраненные до появления колонки busy, получают ее значение по местам хранения
+UPDATE courier c
+SET busy = true
+WHERE c.busy = false
+  AND EXISTS (SELECT 1 FROM storage_place sp WHERE sp.courier_id = c.id AND sp.order_id IS NOT NULL);
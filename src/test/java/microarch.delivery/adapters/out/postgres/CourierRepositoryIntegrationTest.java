@@ -2,6 +2,7 @@ package microarch.delivery.adapters.out.postgres;
 
 import microarch.delivery.core.domain.model.courier.Courier;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Volume;
 import microarch.delivery.core.domain.model.kernel.Speed;
 import microarch.delivery.core.ports.CourierRepository;
@@ -36,7 +37,7 @@ class CourierRepositoryIntegrationTest extends PostgresIntegrationTestBase {
     @Test
     void canSaveAndFindById() {
         // Arrange
-        var courier = Courier.mustCreate("Ivan", Speed.mustCreate(1), Location.mustCreate(1, 2));
+        var courier = Courier.mustCreate("Ivan", Speed.mustCreate(1), Location.mustCreate(1, 2, MapBounds.DEFAULT));
 
         // Act
         var saved = repository.save(courier);
@@ -62,24 +63,43 @@ class CourierRepositoryIntegrationTest extends PostgresIntegrationTestBase {
     }
 
     @Test
-    void findAllAvailableReturnsEmptyWhenNoCouriers() {
+    void findAllByIdsReturnsOnlyRequestedCouriersWithStoragePlaces() {
+        // Arrange
+        var courier1 = Courier.mustCreate("Ivan", Speed.mustCreate(1), Location.mustCreate(1, 2, MapBounds.DEFAULT));
+        var courier2 = Courier.mustCreate("Peter", Speed.mustCreate(2), Location.mustCreate(3, 4, MapBounds.DEFAULT));
+        var courier3 = Courier.mustCreate("Alex", Speed.mustCreate(3), Location.mustCreate(5, 6, MapBounds.DEFAULT));
+        repository.saveAll(List.of(courier1, courier2, courier3));
+
         // Act
-        List<Courier> availableCouriers = repository.findAllAvailable();
+        var loaded = repository.findAllByIds(List.of(courier1.getId(), courier3.getId(), UUID.randomUUID()));
+
+        // Assert
+        assertThat(loaded).extracting(Courier::getId)
+                .containsExactlyInAnyOrder(courier1.getId(), courier3.getId());
+        assertThat(loaded).allSatisfy(courier -> assertThat(courier.getStoragePlaces()).hasSize(1));
+    }
+
+    @Test
+    void claimWithFreeVolumeReturnsEmptyWhenNoCouriers() {
+        // Act
+        List<Courier> availableCouriers = repository.claimWithFreeVolume(Volume.mustCreate(1), false,
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), 10);
 
         // Assert
         assertThat(availableCouriers).isEmpty();
     }
 
     @Test
-    void findAllAvailableReturnsCourierWithoutOrders() {
+    void claimWithFreeVolumeReturnsCourierWithoutOrders() {
         // Arrange
-        var courier = Courier.mustCreate("Peter", Speed.mustCreate(5), Location.mustCreate(5, 3));
+        var courier = Courier.mustCreate("Peter", Speed.mustCreate(5), Location.mustCreate(5, 3, MapBounds.DEFAULT));
         // Курьер создан без заказов, значит он доступен
 
         repository.save(courier);
 
         // Act
-        List<Courier> availableCouriers = repository.findAllAvailable();
+        List<Courier> availableCouriers = repository.claimWithFreeVolume(Volume.mustCreate(1), false,
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), 10);
 
         // Assert
         assertThat(availableCouriers).hasSize(1);
@@ -88,10 +108,10 @@ class CourierRepositoryIntegrationTest extends PostgresIntegrationTestBase {
     }
 
     @Test
-    void findAllAvailableDoesNotReturnCourierWithActiveOrder() {
+    void claimWithFreeVolumeDoesNotReturnCourierWithActiveOrder() {
         // Arrange
         var orderId = UUID.randomUUID();
-        var courier = Courier.mustCreate("Alex", Speed.mustCreate(2), Location.mustCreate(4, 4));
+        var courier = Courier.mustCreate("Alex", Speed.mustCreate(2), Location.mustCreate(4, 4, MapBounds.DEFAULT));
 
         // Добавляем заказ в хранилище курьера.
         // Согласно логике в CourierJpaRepository: курьер НЕ доступен, если у него есть StoragePlace с orderId != null
@@ -100,7 +120,8 @@ class CourierRepositoryIntegrationTest extends PostgresIntegrationTestBase {
         repository.save(courier);
 
         // Act
-        List<Courier> availableCouriers = repository.findAllAvailable();
+        List<Courier> availableCouriers = repository.claimWithFreeVolume(Volume.mustCreate(1), false,
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), 10);
 
         // Assert
         // Курьер с активным заказом не должен попасть в список доступных
@@ -108,24 +129,90 @@ class CourierRepositoryIntegrationTest extends PostgresIntegrationTestBase {
     }
 
     @Test
-    void findAllAvailableReturnsOnlyFreeCouriers() {
+    void claimWithFreeVolumeReturnsOnlyFreeCouriers() {
         // Arrange
         var orderId = UUID.randomUUID();
 
-        var freeCourier = Courier.mustCreate("Free", Speed.mustCreate(2), Location.mustCreate(1, 1));
+        var freeCourier = Courier.mustCreate("Free", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
 
-        var busyCourier = Courier.mustCreate("Busy", Speed.mustCreate(3), Location.mustCreate(2, 2));
+        var busyCourier = Courier.mustCreate("Busy", Speed.mustCreate(3), Location.mustCreate(2, 2, MapBounds.DEFAULT));
         busyCourier.takeOrder(orderId, Volume.mustCreate(5));
 
         repository.save(freeCourier);
         repository.save(busyCourier);
 
         // Act
-        List<Courier> availableCouriers = repository.findAllAvailable();
+        List<Courier> availableCouriers = repository.claimWithFreeVolume(Volume.mustCreate(1), false,
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), 10);
 
         // Assert
         assertThat(availableCouriers).hasSize(1);
         assertThat(availableCouriers.get(0).getId()).isEqualTo(freeCourier.getId());
         assertThat(availableCouriers.get(0).getName()).isEqualTo(freeCourier.getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    void claimWithFreeVolumeReturnsOnlyCouriersWithFittingStoragePlace() {
+        // Arrange
+        var smallCourier = Courier.mustCreate("Small", Speed.mustCreate(2),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT)); // сумка на 10
+
+        var trunkCourier = Courier.mustCreate("Trunk", Speed.mustCreate(2),
+                Location.mustCreate(2, 2, MapBounds.DEFAULT));
+        trunkCourier.addStoragePlace("Багажник", Volume.mustCreate(30));
+
+        var busyTrunkCourier = Courier.mustCreate("BusyTrunk", Speed.mustCreate(2),
+                Location.mustCreate(3, 3, MapBounds.DEFAULT));
+        busyTrunkCourier.addStoragePlace("Багажник", Volume.mustCreate(30));
+        busyTrunkCourier.takeOrder(UUID.randomUUID(), Volume.mustCreate(5));
+
+        repository.saveAll(List.of(smallCourier, trunkCourier, busyTrunkCourier));
+
+        // Act
+        var near = Location.mustCreate(1, 1, MapBounds.DEFAULT);
+        var forLargeOrder = repository.claimWithFreeVolume(Volume.mustCreate(20), false, near, 10);
+        var forSmallOrder = repository.claimWithFreeVolume(Volume.mustCreate(10), false, near, 10);
+        var forLargeOrderWithBusy = repository.claimWithFreeVolume(Volume.mustCreate(20), true, near, 10);
+
+        // Assert
+        assertThat(forLargeOrder).extracting(Courier::getId).containsExactly(trunkCourier.getId());
+        assertThat(forLargeOrder.get(0).getStoragePlaces()).hasSize(2);
+        assertThat(forSmallOrder).extracting(Courier::getId)
+                .containsExactlyInAnyOrder(smallCourier.getId(), trunkCourier.getId());
+        assertThat(forLargeOrderWithBusy).extracting(Courier::getId)
+                .containsExactlyInAnyOrder(trunkCourier.getId(), busyTrunkCourier.getId());
+    }
+
+    @Test
+    void claimWithFreeVolumeReturnsNoMoreThanLimitNearestCouriers() {
+        // Arrange
+        var nearest = Courier.mustCreate("Nearest", Speed.mustCreate(2), Location.mustCreate(2, 2, MapBounds.DEFAULT));
+        var near = Courier.mustCreate("Near", Speed.mustCreate(2), Location.mustCreate(4, 4, MapBounds.DEFAULT));
+        var far = Courier.mustCreate("Far", Speed.mustCreate(2), Location.mustCreate(10, 10, MapBounds.DEFAULT));
+        repository.saveAll(List.of(far, near, nearest));
+
+        // Act
+        var claimed = repository.claimWithFreeVolume(Volume.mustCreate(1), false,
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), 2);
+
+        // Assert
+        assertThat(claimed).extracting(Courier::getId)
+                .containsExactlyInAnyOrder(nearest.getId(), near.getId());
+    }
+
+    @Test
+    void claimWithFreeVolumeTakesFastestCouriersInsteadOfNearest() {
+        // Arrange
+        // Пешеход в 3 клетках доедет за 3 такта, быстрый курьер в 8 клетках - за 2
+        var slowNear = Courier.mustCreate("Slow", Speed.mustCreate(1), Location.mustCreate(2, 3, MapBounds.DEFAULT));
+        var fastFar = Courier.mustCreate("Fast", Speed.mustCreate(4), Location.mustCreate(5, 5, MapBounds.DEFAULT));
+        repository.saveAll(List.of(slowNear, fastFar));
+
+        // Act
+        var claimed = repository.claimWithFreeVolume(Volume.mustCreate(1), false,
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), 1);
+
+        // Assert
+        assertThat(claimed).extracting(Courier::getId).containsExactly(fastFar.getId());
+    }
+}
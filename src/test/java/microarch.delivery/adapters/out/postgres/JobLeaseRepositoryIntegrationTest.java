@@ -0,0 +1,68 @@
+package microarch.delivery.adapters.out.postgres;
+
+import microarch.delivery.core.ports.JobLeaseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class JobLeaseRepositoryIntegrationTest extends PostgresIntegrationTestBase {
+
+    @Autowired
+    JobLeaseRepository repository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldGrantOneRunPerInterval() {
+        // Arrange
+        jdbcTemplate.update("DELETE FROM job_lease");
+
+        // Act
+        var first = repository.tryAcquire("test-job", Duration.ofMinutes(1));
+        var second = repository.tryAcquire("test-job", Duration.ofMinutes(1));
+        var otherJob = repository.tryAcquire("other-job", Duration.ofMinutes(1));
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(otherJob).isTrue();
+    }
+
+    @Test
+    void shouldGrantNextRunWhenIntervalHasPassed() {
+        // Arrange
+        jdbcTemplate.update("DELETE FROM job_lease");
+        repository.tryAcquire("test-job", Duration.ZERO);
+
+        // Act
+        var next = repository.tryAcquire("test-job", Duration.ZERO);
+
+        // Assert
+        assertThat(next).isTrue();
+    }
+
+    @Test
+    void shouldNotGrantSecondRunToLaggingInstanceAfterLongPause() {
+        // Arrange
+        // Задача не запускалась несколько интервалов подряд
+        jdbcTemplate.update("DELETE FROM job_lease");
+        jdbcTemplate.update("INSERT INTO job_lease (name, next_run_at) VALUES ('test-job', now() - interval '10 minutes')");
+
+        // Act
+        var first = repository.tryAcquire("test-job", Duration.ofMinutes(1));
+        var lagging = repository.tryAcquire("test-job", Duration.ofMinutes(1));
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(lagging).isFalse();
+    }
+}
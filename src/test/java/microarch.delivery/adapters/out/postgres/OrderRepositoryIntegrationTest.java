@@ -1,15 +1,21 @@
 package microarch.delivery.adapters.out.postgres;
 
+import microarch.delivery.core.domain.model.kernel.DeliveryPeriod;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Volume;
 import microarch.delivery.core.domain.model.order.Order;
 import microarch.delivery.core.domain.model.order.OrderStatus;
+import microarch.delivery.core.domain.services.RegionGrid;
 import microarch.delivery.core.ports.OrderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.UUID;
@@ -26,6 +32,9 @@ class OrderRepositoryIntegrationTest extends PostgresIntegrationTestBase {
     @Autowired
     OrderJpaRepository jpaRepository;
 
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void tearDown() {
         // Очищаем таблицу через JPA репозиторий перед каждым тестом
@@ -37,7 +46,7 @@ class OrderRepositoryIntegrationTest extends PostgresIntegrationTestBase {
         // Arrange
         var orderId = UUID.randomUUID();
         // Создаем заказ с обязательными параметрами: ID корзины, локация, объем
-        var order = Order.mustCreate(orderId, Location.mustCreate(1, 10), Volume.mustCreate(5));
+        var order = Order.mustCreate(orderId, Location.mustCreate(1, 10, MapBounds.DEFAULT), Volume.mustCreate(5));
 
         // Act
         var saved = repository.save(order);
@@ -64,29 +73,95 @@ class OrderRepositoryIntegrationTest extends PostgresIntegrationTestBase {
     }
 
     @Test
-    void canFindAnyCreatedOrder() {
+    void claimCreatedReturnsNoMoreThanLimit() {
         // Arrange
-        var order1 = Order.mustCreate(UUID.randomUUID(), Location.mustCreate(1, 1), Volume.mustCreate(1));
-        var order2 = Order.mustCreate(UUID.randomUUID(), Location.mustCreate(2, 2), Volume.mustCreate(2));
+        for (int i = 0; i < 3; i++) {
+            repository.save(Order.mustCreate(UUID.randomUUID(),
+                    Location.mustCreate(1, 1, MapBounds.DEFAULT), Volume.mustCreate(1)));
+        }
+        var assigned = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(2, 2, MapBounds.DEFAULT), Volume.mustCreate(2));
+        assigned.assign(UUID.randomUUID());
+        repository.save(assigned);
 
-        repository.save(order1);
-        repository.save(order2);
+        // Act
+        List<Order> createdOrders = repository.claimCreated(2);
+
+        // Assert
+        assertThat(createdOrders).hasSize(2);
+        assertThat(createdOrders).extracting(Order::getStatus)
+                .containsOnly(OrderStatus.CREATED);
+    }
+
+    @Test
+    void claimCreatedSkipsOrdersClaimedByAnotherTransaction() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            repository.save(Order.mustCreate(UUID.randomUUID(),
+                    Location.mustCreate(1, 1, MapBounds.DEFAULT), Volume.mustCreate(1)));
+        }
+        var outer = new TransactionTemplate(transactionManager);
+        var inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Act
+        // Вторая транзакция идет на отдельном соединении, пока первая держит свои заказы
+        var claims = outer.execute(status -> {
+            var first = repository.claimCreated(2);
+            var second = inner.execute(innerStatus -> repository.claimCreated(2));
+            return List.of(first, second);
+        });
+
+        // Assert
+        assertThat(claims.get(0)).hasSize(2);
+        assertThat(claims.get(1)).hasSize(1);
+        assertThat(claims.get(1)).extracting(Order::getId)
+                .doesNotContainAnyElementsOf(claims.get(0).stream().map(Order::getId).toList());
+    }
+
+    @Test
+    void claimCreatedReturnsOrdersWithEarliestDeadlineFirst() {
+        // Arrange
+        var evening = repository.save(Order.mustCreate(UUID.randomUUID(), Location.mustCreate(1, 1, MapBounds.DEFAULT),
+                Volume.mustCreate(1), DeliveryPeriod.mustCreate(18, 24)));
+        var asap = repository.save(Order.mustCreate(UUID.randomUUID(), Location.mustCreate(2, 2, MapBounds.DEFAULT),
+                Volume.mustCreate(1)));
+
+        // Act
+        List<Order> orders = repository.claimCreated(2);
+
+        // Assert
+        assertThat(orders).extracting(Order::getId).containsExactly(asap.getId(), evening.getId());
+        assertThat(orders.get(1).getDeliveryPeriod()).isEqualTo(DeliveryPeriod.mustCreate(18, 24));
+    }
+
+    @Test
+    void claimCreatedInRegionsReturnsOnlyOrdersOfClaimedRegions() {
+        // Arrange
+        // Карта 10x10 делится на тайлы 5x5: регион 0 - левый верхний угол, регион 3 - правый нижний
+        var grid = new RegionGrid(5, 10);
+        var inRegion0 = repository.save(Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(2, 3, MapBounds.DEFAULT), Volume.mustCreate(1)));
+        var inRegion3 = repository.save(Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(9, 9, MapBounds.DEFAULT), Volume.mustCreate(1)));
+        repository.save(Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(7, 2, MapBounds.DEFAULT), Volume.mustCreate(1)));
 
         // Act
-        // Метод findAnyCreated() должен вернуть Optional с любым заказом со статусом CREATED
-        var result = repository.findAnyCreated();
+        List<Order> orders = repository.claimCreatedInRegions(grid, List.of(0, 3), 10);
 
         // Assert
-        assertThat(result).isPresent();
-        assertThat(result.get().getStatus()).isEqualTo(OrderStatus.CREATED);
-        assertThat(result.get().getId()).isIn(order1.getId(), order2.getId());
+        assertThat(orders).extracting(Order::getId)
+                .containsExactlyInAnyOrder(inRegion0.getId(), inRegion3.getId());
     }
 
     @Test
     void canFindAllAssignedOrders() {
         // Arrange
-        var order1 = Order.mustCreate(UUID.randomUUID(), Location.mustCreate(1, 1), Volume.mustCreate(1));
-        var order2 = Order.mustCreate(UUID.randomUUID(), Location.mustCreate(2, 2), Volume.mustCreate(2));
+        var order1 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), Volume.mustCreate(1));
+        var order2 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(2, 2, MapBounds.DEFAULT), Volume.mustCreate(2));
 
         var courierId = UUID.randomUUID();
 
@@ -113,7 +188,8 @@ class OrderRepositoryIntegrationTest extends PostgresIntegrationTestBase {
     @Test
     void findAllAssignedReturnsEmptyWhenNoAssignedOrders() {
         // Arrange
-        var order = Order.mustCreate(UUID.randomUUID(), Location.mustCreate(1, 1), Volume.mustCreate(1));
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), Volume.mustCreate(1));
         // Статус по умолчанию CREATED, поэтому в выборку ASSIGNED он не попадет
         repository.save(order);
 
@@ -127,7 +203,8 @@ class OrderRepositoryIntegrationTest extends PostgresIntegrationTestBase {
     @Test
     void shouldNotFindAssignedOrderIfNotSaved() {
         // Arrange
-        var order = Order.mustCreate(UUID.randomUUID(), Location.mustCreate(1, 1), Volume.mustCreate(1));
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), Volume.mustCreate(1));
         var courierId = UUID.randomUUID();
 
         // Меняем статус в памяти, но НЕ сохраняем в БД
@@ -0,0 +1,224 @@
+package microarch.delivery.adapters.out.postgres.fleet;
+
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.adapters.out.postgres.CourierJpaRepository;
+import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
+import microarch.delivery.core.domain.model.kernel.Speed;
+import microarch.delivery.core.domain.model.kernel.Volume;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FleetStateCourierRepositoryTest {
+
+    private final CourierJpaRepository jpa = mock(CourierJpaRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ApplicationProperties properties = new ApplicationProperties();
+
+    private FleetStateCourierRepository createRepository(Courier... couriers) {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jpa.findAll()).thenReturn(List.of(couriers));
+        return new FleetStateCourierRepository(properties, jpa, jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void shouldLoadFleetOnceAndServeReadsFromMemory() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var repository = createRepository(courier);
+
+        // Act
+        var first = repository.findById(courier.getId());
+        var second = repository.findById(courier.getId());
+        var available = repository.claimWithFreeVolume(Volume.mustCreate(1), false, courier.getLocation(), 10);
+
+        // Assert
+        assertThat(first).contains(courier);
+        assertThat(second).contains(courier);
+        assertThat(available).containsExactly(courier);
+        // Наружу выдаются копии, состояние парка меняется только через save
+        assertThat(first.get()).isNotSameAs(courier).isNotSameAs(second.get());
+        verify(jpa, times(1)).findAll();
+        verify(jpa, never()).findById(any());
+    }
+
+    @Test
+    void shouldClaimFastestCouriersToLocation() {
+        // Arrange
+        var slowNear = Courier.mustCreate("Иван", Speed.mustCreate(1), Location.mustCreate(2, 3, MapBounds.DEFAULT));
+        var fastFar = Courier.mustCreate("Петр", Speed.mustCreate(4), Location.mustCreate(5, 5, MapBounds.DEFAULT));
+        var repository = createRepository(slowNear, fastFar);
+
+        // Act
+        var claimed = repository.claimWithFreeVolume(Volume.mustCreate(1), false,
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), 1);
+
+        // Assert
+        assertThat(claimed).containsExactly(fastFar);
+    }
+
+    @Test
+    void shouldWriteChangedCouriersBeforeCommitInOneBatchPerTable() {
+        // Arrange
+        var courier1 = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var courier2 = Courier.mustCreate("Петр", Speed.mustCreate(2), Location.mustCreate(3, 3, MapBounds.DEFAULT));
+        var repository = createRepository(courier1, courier2);
+
+        // Act
+        inTransaction(() -> {
+            var own = repository.findAllByIds(List.of(courier1.getId(), courier2.getId()));
+            own.forEach(courier -> courier.takeOrder(UUID.randomUUID(), Volume.mustCreate(5)));
+            return repository.saveAll(own);
+        }, TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        verify(jpa, never()).save(any());
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(
+                "UPDATE courier SET name = ?, speed = ?, location_x = ?, location_y = ?, busy = ? WHERE id = ?"),
+                argThat((List<Object[]> rows) -> rows.size() == 2));
+        verify(jdbcTemplate, times(1)).batchUpdate(eq("UPDATE storage_place SET order_id = ? WHERE id = ?"),
+                argThat((List<Object[]> rows) -> rows.size() == 2));
+    }
+
+    @Test
+    void shouldWriteNewCourierThrough() {
+        // Arrange
+        var repository = createRepository();
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+
+        // Act
+        repository.save(courier);
+
+        // Assert
+        verify(jpa).save(courier);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        assertThat(repository.findById(courier.getId())).contains(courier);
+    }
+
+    @Test
+    void shouldNotHandSameCourierToTwoTransactions() throws Exception {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var repository = createRepository(courier);
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act
+            TransactionSynchronizationManager.initSynchronization();
+            var first = repository.claimWithFreeVolume(Volume.mustCreate(1), false, courier.getLocation(), 10);
+            var second = executor.submit(() -> inTransaction(() ->
+                    repository.claimWithFreeVolume(Volume.mustCreate(1), false, courier.getLocation(), 10),
+                    TransactionSynchronization.STATUS_COMMITTED)).get();
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+            var afterRelease = executor.submit(() -> inTransaction(() ->
+                    repository.claimWithFreeVolume(Volume.mustCreate(1), false, courier.getLocation(), 10),
+                    TransactionSynchronization.STATUS_COMMITTED)).get();
+
+            // Assert
+            assertThat(first).containsExactly(courier);
+            assertThat(second).isEmpty();
+            assertThat(afterRelease).containsExactly(courier);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotFlushChangesOfRolledBackTransaction() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var repository = createRepository(courier);
+
+        // Act
+        inTransaction(() -> {
+            var own = repository.findById(courier.getId()).orElseThrow();
+            own.move(Location.mustCreate(5, 5, MapBounds.DEFAULT));
+            return repository.save(own);
+        }, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        assertThat(repository.findById(courier.getId()).orElseThrow().getLocation())
+                .isEqualTo(Location.mustCreate(1, 1, MapBounds.DEFAULT));
+    }
+
+    @Test
+    void shouldWriteStateCapturedAtCommit() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var repository = createRepository(courier);
+
+        // Act
+        var own = inTransaction(() -> {
+            var found = repository.findById(courier.getId()).orElseThrow();
+            found.move(Location.mustCreate(5, 5, MapBounds.DEFAULT));
+            return repository.save(found);
+        }, TransactionSynchronization.STATUS_COMMITTED);
+        // Изменения после коммита не должны попасть ни в базу, ни в состояние парка
+        own.move(Location.mustCreate(10, 10, MapBounds.DEFAULT));
+
+        // Assert
+        verify(jdbcTemplate).batchUpdate(eq(
+                "UPDATE courier SET name = ?, speed = ?, location_x = ?, location_y = ?, busy = ? WHERE id = ?"),
+                argThat((List<Object[]> rows) -> rows.size() == 1
+                        && rows.get(0)[2].equals(3) && rows.get(0)[3].equals(1)));
+        assertThat(repository.findById(courier.getId()).orElseThrow().getLocation())
+                .isEqualTo(Location.mustCreate(3, 1, MapBounds.DEFAULT));
+    }
+
+    @Test
+    void shouldFailFastWhenDispatchIsShardedByRegions() {
+        // Arrange
+        properties.getDispatch().getRegions().setTileSize(5);
+        properties.getDispatch().getRegions().setClaimed(List.of(0, 1));
+
+        // Act & Assert
+        assertThatThrownBy(() -> createRepository())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.dispatch.regions");
+    }
+
+    private static <T> T inTransaction(Supplier<T> work, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            return work.get();
+        } finally {
+            complete(status);
+        }
+    }
+
+    private static void complete(int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+}
@@ -0,0 +1,146 @@
+package microarch.delivery.adapters.out.postgres.outbox;
+
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.adapters.out.kafka.OrderEventsProducerImpl;
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
+import microarch.delivery.core.domain.model.kernel.Volume;
+import microarch.delivery.core.domain.model.order.Order;
+import microarch.delivery.core.domain.model.order.event.OrderCreatedDomainEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EagerOutboxRelayTest {
+
+    private final ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    private final OutboxJpaRepository jpa = mock(OutboxJpaRepository.class);
+    private final OrderEventsProducerImpl producer = mock(OrderEventsProducerImpl.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final EagerOutboxRelay relay = new EagerOutboxRelay(publisher, jpa, producer, transactionManager,
+            new ApplicationProperties());
+
+    @Test
+    void shouldPublishOnlyMessagesNotClaimedByOutboxJob() {
+        // Arrange
+        var events = new LinkedHashMap<UUID, EagerOutboxRelay.Pending>();
+        var first = createEvent();
+        var second = createEvent();
+        events.put(first.getEventId(), pending(first));
+        events.put(second.getEventId(), pending(second));
+        // Второе сообщение уже захватил Job
+        when(jpa.claimUnprocessedIds(events.keySet())).thenReturn(List.of(first.getEventId()));
+
+        // Act
+        relay.relay(events);
+
+        // Assert
+        verify(publisher).publishEvent(first);
+        verify(publisher, never()).publishEvent(second);
+        verify(jpa).markAsProcessed(eq(List.of(first.getEventId())), any(Instant.class));
+    }
+
+    @Test
+    void shouldLeaveMessageToOutboxJobWhenPublishFails() {
+        // Arrange
+        var event = createEvent();
+        var events = new LinkedHashMap<UUID, EagerOutboxRelay.Pending>();
+        events.put(event.getEventId(), pending(event));
+        when(jpa.claimUnprocessedIds(events.keySet())).thenReturn(List.of(event.getEventId()));
+        doThrow(new IllegalStateException("kafka is down")).when(publisher).publishEvent(event);
+
+        // Act
+        relay.relay(events);
+
+        // Assert
+        verify(jpa, never()).markAsProcessed(any(), any());
+    }
+
+    @Test
+    void shouldSendBinaryPayloadToKafkaAndPublishEventInProcess() {
+        // Arrange
+        var event = createEvent();
+        var payload = new byte[]{10, 36};
+        var message = new OutboxMessage(event.getEventId(), "order.created", event.getOrderId().toString(), "Order",
+                payload, event.getOccurredOnUtc());
+        var events = new LinkedHashMap<UUID, EagerOutboxRelay.Pending>();
+        events.put(event.getEventId(), new EagerOutboxRelay.Pending(message, event));
+        when(jpa.claimUnprocessedIds(events.keySet())).thenReturn(List.of(event.getEventId()));
+        when(producer.send(event.getOrderId().toString(), payload)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        relay.relay(events);
+
+        // Assert
+        verify(producer).send(event.getOrderId().toString(), payload);
+        verify(publisher).publishEvent(event);
+        verify(jpa).markAsProcessed(eq(List.of(event.getEventId())), any(Instant.class));
+    }
+
+    @Test
+    void shouldLeaveBinaryMessageToOutboxJobWhenKafkaRejectsIt() {
+        // Arrange
+        var event = createEvent();
+        var payload = new byte[]{10, 36};
+        var message = new OutboxMessage(event.getEventId(), "order.created", event.getOrderId().toString(), "Order",
+                payload, event.getOccurredOnUtc());
+        var events = new LinkedHashMap<UUID, EagerOutboxRelay.Pending>();
+        events.put(event.getEventId(), new EagerOutboxRelay.Pending(message, event));
+        when(jpa.claimUnprocessedIds(events.keySet())).thenReturn(List.of(event.getEventId()));
+        when(producer.send(event.getOrderId().toString(), payload))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("kafka is down")));
+
+        // Act
+        relay.relay(events);
+
+        // Assert
+        verify(jpa, never()).markAsProcessed(any(), any());
+    }
+
+    @Test
+    void shouldRelaySubmittedMessagesOffCallerThread() {
+        // Arrange
+        var event = createEvent();
+        var events = new LinkedHashMap<UUID, EagerOutboxRelay.Pending>();
+        events.put(event.getEventId(), pending(event));
+        when(jpa.claimUnprocessedIds(events.keySet())).thenReturn(List.of(event.getEventId()));
+        var callerThread = Thread.currentThread();
+        var relayThread = new AtomicReference<Thread>();
+        doAnswer(invocation -> {
+            relayThread.set(Thread.currentThread());
+            return null;
+        }).when(publisher).publishEvent(event);
+
+        // Act
+        relay.submit(events);
+
+        // Assert
+        verify(jpa, timeout(1000)).markAsProcessed(eq(List.of(event.getEventId())), any(Instant.class));
+        assertThat(relayThread.get()).isNotNull().isNotSameAs(callerThread);
+        relay.shutdown();
+    }
+
+    private static EagerOutboxRelay.Pending pending(OrderCreatedDomainEvent event) {
+        var message = new OutboxMessage(event.getEventId(), "order.created", event.getOrderId().toString(), "Order",
+                "{}", event.getOccurredOnUtc());
+        return new EagerOutboxRelay.Pending(message, event);
+    }
+
+    private static OrderCreatedDomainEvent createEvent() {
+        return new OrderCreatedDomainEvent(Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT),
+                Volume.mustCreate(1)));
+    }
+}
@@ -0,0 +1,176 @@
+package microarch.delivery.adapters.out.postgres.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.adapters.out.kafka.OrderEventsProducerImpl;
+import microarch.delivery.core.domain.model.order.event.OrderCreatedDomainEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import queues.order.events.OrderEventsProto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JobTest {
+
+    private final ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    private final OutboxJpaRepository jpa = mock(OutboxJpaRepository.class);
+    private final OutboxEventTypes eventTypes = new OutboxEventTypes(new ObjectMapper());
+    private final OrderEventsProducerImpl producer = mock(OrderEventsProducerImpl.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ApplicationProperties properties = new ApplicationProperties();
+    private Job job;
+
+    @BeforeEach
+    void setUp() {
+        properties.getOutbox().setPageSize(2);
+        job = new Job(publisher, jpa, eventTypes, producer, transactionManager, properties);
+    }
+
+    @Test
+    void shouldRelayBacklogPageByPageAndMarkEachPageWithOneUpdate() {
+        // Arrange
+        var first = createMessage();
+        var second = createMessage();
+        var third = createMessage();
+        when(jpa.claimUnprocessedMessages(2, 20))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+
+        // Act
+        job.run();
+
+        // Assert
+        verify(publisher, times(3)).publishEvent(any(OrderCreatedDomainEvent.class));
+        verify(jpa).markAsProcessed(eq(List.of(first.getId(), second.getId())), any(Instant.class));
+        verify(jpa).markAsProcessed(eq(List.of(third.getId())), any(Instant.class));
+        verify(jpa, times(2)).claimUnprocessedMessages(2, 20);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void shouldStopWhenNothingOfFullPageCouldBePublished() {
+        // Arrange
+        when(jpa.claimUnprocessedMessages(2, 20)).thenReturn(List.of(createMessage("unknown.event"),
+                createMessage("unknown.event")));
+
+        // Act
+        job.run();
+
+        // Assert
+        verify(jpa, times(1)).claimUnprocessedMessages(2, 20);
+        verify(jpa, never()).markAsProcessed(any(), any());
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void shouldPostponeFailedMessageAndRelayRestOfPage() {
+        // Arrange
+        var poison = createMessage("unknown.event");
+        var healthy = createMessage();
+        when(jpa.claimUnprocessedMessages(2, 20)).thenReturn(List.of(poison, healthy)).thenReturn(List.of());
+
+        // Act
+        job.run();
+
+        // Assert
+        verify(jpa).markAsFailed(eq(poison.getId()), any(), eq(1.0), eq(300.0));
+        verify(jpa).markAsProcessed(eq(List.of(healthy.getId())), any(Instant.class));
+        verify(publisher).publishEvent(any(OrderCreatedDomainEvent.class));
+    }
+
+    @Test
+    void shouldNotPollWhenRelayIsWokenByNotifications() {
+        // Arrange
+        properties.getOutbox().setListenNotify(true);
+        var notifiedJob = new Job(publisher, jpa, eventTypes, producer, transactionManager, properties);
+
+        // Act
+        notifiedJob.run();
+
+        // Assert
+        verifyNoInteractions(jpa);
+    }
+
+    @Test
+    void shouldReadMessagesWrittenWithClassNameBeforeTypeCodes() {
+        // Arrange
+        when(jpa.claimUnprocessedMessages(2, 20))
+                .thenReturn(List.of(createMessage(OrderCreatedDomainEvent.class.getName())));
+
+        // Act
+        job.run();
+
+        // Assert
+        verify(publisher).publishEvent(any(OrderCreatedDomainEvent.class));
+    }
+
+    @Test
+    void shouldSendBinaryPayloadToKafkaAndPublishEventRestoredFromIt() throws Exception {
+        // Arrange
+        var orderId = UUID.randomUUID();
+        var message = createBinaryMessage(orderId);
+        when(jpa.claimUnprocessedMessages(2, 20)).thenReturn(List.of(message));
+        when(producer.send(message.getAggregateId(), message.getPayloadBytes()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        job.run();
+
+        // Assert
+        verify(producer).send(message.getAggregateId(), message.getPayloadBytes());
+        verify(publisher).publishEvent(argThat((OrderCreatedDomainEvent created) -> created.getOrderId().equals(orderId)
+                && created.getEventId().equals(message.getId())
+                && created.getOccurredOnUtc().equals(message.getOccurredOnUtc())));
+        verify(jpa).markAsProcessed(eq(List.of(message.getId())), any(Instant.class));
+    }
+
+    @Test
+    void shouldMarkOnlyBinaryMessagesAcknowledgedByKafka() throws Exception {
+        // Arrange
+        var acknowledged = createBinaryMessage(UUID.randomUUID());
+        var rejected = createBinaryMessage(UUID.randomUUID());
+        when(jpa.claimUnprocessedMessages(2, 20)).thenReturn(List.of(acknowledged, rejected))
+                .thenReturn(List.of());
+        when(producer.send(acknowledged.getAggregateId(), acknowledged.getPayloadBytes()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(producer.send(rejected.getAggregateId(), rejected.getPayloadBytes()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("kafka is down")));
+
+        // Act
+        job.run();
+
+        // Assert
+        verify(jpa).markAsProcessed(eq(List.of(acknowledged.getId())), any(Instant.class));
+        verify(jpa).markAsFailed(eq(rejected.getId()), any(), anyDouble(), anyDouble());
+    }
+
+    private OutboxMessage createBinaryMessage(UUID orderId) throws Exception {
+        var payload = OrderEventsProto.OrderCreatedIntegrationEvent.newBuilder()
+                .setOrderId(orderId.toString())
+                .build()
+                .toByteArray();
+        when(producer.fromIntegrationMessage(any(), any(), any(), eq(payload))).thenCallRealMethod();
+        return new OutboxMessage(UUID.randomUUID(), eventTypes.codeOf(OrderCreatedDomainEvent.class),
+                orderId.toString(), "Order", payload, Instant.now());
+    }
+
+    private OutboxMessage createMessage() {
+        return createMessage(eventTypes.codeOf(OrderCreatedDomainEvent.class));
+    }
+
+    private static OutboxMessage createMessage(String eventType) {
+        return new OutboxMessage(UUID.randomUUID(), eventType, UUID.randomUUID().toString(), "Order",
+                "{\"orderId\":\"" + UUID.randomUUID() + "\"}", Instant.now());
+    }
+}
@@ -0,0 +1,61 @@
+package microarch.delivery.adapters.out.postgres.outbox;
+
+import microarch.delivery.adapters.out.postgres.PostgresIntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class OutboxJpaRepositoryIntegrationTest extends PostgresIntegrationTestBase {
+
+    @Autowired
+    OutboxJpaRepository jpa;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void tearDown() {
+        jpa.deleteAll();
+    }
+
+    @Test
+    void claimSkipsFailedMessageUntilBackoffPassesAndAfterLastAttempt() {
+        // Arrange
+        var poison = jpa.save(createMessage(Instant.now().minus(1, ChronoUnit.MINUTES)));
+        var healthy = jpa.save(createMessage(Instant.now()));
+        var transaction = new TransactionTemplate(transactionManager);
+
+        // Act
+        transaction.executeWithoutResult(status -> jpa.markAsFailed(poison.getId(), "boom", 60, 60));
+        var duringBackoff = transaction.execute(status -> jpa.claimUnprocessedMessages(10, 3));
+        transaction.executeWithoutResult(status -> jpa.markAsFailed(poison.getId(), "boom", 0, 0));
+        var afterBackoff = transaction.execute(status -> jpa.claimUnprocessedMessages(10, 3));
+        transaction.executeWithoutResult(status -> jpa.markAsFailed(poison.getId(), "boom", 0, 0));
+        var afterLastAttempt = transaction.execute(status -> jpa.claimUnprocessedMessages(10, 3));
+
+        // Assert
+        assertThat(duringBackoff).extracting(OutboxMessage::getId).containsExactly(healthy.getId());
+        assertThat(afterBackoff).extracting(OutboxMessage::getId).containsExactly(poison.getId(), healthy.getId());
+        assertThat(afterLastAttempt).extracting(OutboxMessage::getId).containsExactly(healthy.getId());
+        var stored = jpa.findById(poison.getId()).orElseThrow();
+        assertThat(stored.getAttempts()).isEqualTo(3);
+        assertThat(stored.getLastError()).isEqualTo("boom");
+    }
+
+    private static OutboxMessage createMessage(Instant occurredOnUtc) {
+        return new OutboxMessage(UUID.randomUUID(), "order.created", UUID.randomUUID().toString(), "Order",
+                "{}", occurredOnUtc);
+    }
+}
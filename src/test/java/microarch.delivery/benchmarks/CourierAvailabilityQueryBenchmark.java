@@ -0,0 +1,96 @@
+package microarch.delivery.benchmarks;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Сравнение запроса свободных курьеров до и после денормализации колонки busy
+ * на таблице из 100 тысяч курьеров (70% заняты). Печатает планы и среднее время выполнения.
+ * Запуск: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=microarch.delivery.benchmarks.CourierAvailabilityQueryBenchmark
+ */
+public class CourierAvailabilityQueryBenchmark {
+
+    private static final int COURIERS = 100_000;
+    private static final int RUNS = 20;
+
+    // Так Hibernate транслировал прежний JPQL с NOT EXISTS ... MEMBER OF
+    private static final String BEFORE = """
+            SELECT c.* FROM courier c
+            WHERE NOT EXISTS (
+                SELECT 1 FROM storage_place sp
+                WHERE sp.courier_id = c.id AND sp.order_id IS NOT NULL
+            )
+            """;
+
+    private static final String AFTER = """
+            SELECT c.* FROM courier c WHERE c.busy = false
+            """;
+
+    public static void main(String[] args) throws SQLException {
+        try (var postgres = new PostgreSQLContainer<>("postgres:15.3")) {
+            postgres.start();
+            try (var connection = DriverManager.getConnection(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+                seed(connection);
+                measure(connection, "before (NOT EXISTS)", BEFORE);
+                measure(connection, "after (busy + partial index)", AFTER);
+            }
+        }
+    }
+
+    private static void seed(Connection connection) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("""
+                    CREATE TABLE courier (
+                        id uuid PRIMARY KEY, name varchar(255), speed int,
+                        location_x int, location_y int, busy boolean NOT NULL DEFAULT false)
+                    """);
+            st.execute("""
+                    CREATE TABLE storage_place (
+                        id uuid PRIMARY KEY, name varchar(255), volume int, order_id uuid,
+                        courier_id uuid NOT NULL REFERENCES courier (id))
+                    """);
+            st.execute("""
+                    INSERT INTO courier (id, name, speed, location_x, location_y, busy)
+                    SELECT gen_random_uuid(), 'Courier ' || i, 1 + i % 4, 1 + i % 10, 1 + (i / 10) % 10, i % 10 < 7
+                    FROM generate_series(1, %d) AS i
+                    """.formatted(COURIERS));
+            st.execute("""
+                    INSERT INTO storage_place (id, name, volume, order_id, courier_id)
+                    SELECT gen_random_uuid(), 'Сумка', 10, CASE WHEN c.busy THEN gen_random_uuid() END, c.id
+                    FROM courier c
+                    """);
+            st.execute("CREATE INDEX ix_courier_available ON courier (id) WHERE busy = false");
+            st.execute("ANALYZE courier");
+            st.execute("ANALYZE storage_place");
+        }
+    }
+
+    private static void measure(Connection connection, String title, String sql) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            System.out.println("=== " + title);
+            try (var plan = st.executeQuery("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                while (plan.next()) {
+                    System.out.println(plan.getString(1));
+                }
+            }
+
+            long total = 0;
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                try (var rs = st.executeQuery(sql)) {
+                    while (rs.next()) {
+                        // вычитываем результат целиком, как это делает Hibernate
+                    }
+                }
+                total += System.nanoTime() - start;
+            }
+            System.out.printf("avg: %.2f ms%n%n", total / 1_000_000.0 / RUNS);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package microarch.delivery.benchmarks;
+
+import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
+import microarch.delivery.core.domain.model.kernel.Speed;
+import microarch.delivery.core.domain.model.kernel.Volume;
+import microarch.delivery.core.domain.model.order.Order;
+import microarch.delivery.core.domain.services.OptimalOrderDispatcherImpl;
+import microarch.delivery.core.domain.services.OrderDispatcher;
+import microarch.delivery.core.domain.services.OrderDispatcherImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение жадного и оптимального диспетчера на пачке заказов x пуле курьеров на маленькой и большой карте.
+ * Запуск: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=microarch.delivery.benchmarks.OrderDispatcherBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OrderDispatcherBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    // Сторона квадратной карты в клетках
+    @Param({"10", "100000"})
+    private int mapSize;
+
+    private final OrderDispatcher greedy = new OrderDispatcherImpl();
+    private final OrderDispatcher optimal = new OptimalOrderDispatcherImpl();
+
+    private MapBounds bounds;
+    private List<Order> orders;
+    private List<Courier> couriers;
+
+    @Setup(Level.Trial)
+    public void configureMap() {
+        bounds = MapBounds.mustCreate(mapSize, mapSize);
+    }
+
+    // Диспетчер меняет состояние заказов и курьеров, поэтому перед каждым вызовом нужен свежий набор
+    @Setup(Level.Invocation)
+    public void setUp() {
+        var random = new Random(42);
+        orders = new ArrayList<>(size);
+        couriers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            orders.add(Order.mustCreate(UUID.randomUUID(),
+                    Location.mustCreate(1 + random.nextInt(mapSize), 1 + random.nextInt(mapSize), bounds),
+                    Volume.mustCreate(1 + random.nextInt(10))));
+            couriers.add(Courier.mustCreate("Courier " + i,
+                    Speed.mustCreate(1 + random.nextInt(4)),
+                    Location.mustCreate(1 + random.nextInt(mapSize), 1 + random.nextInt(mapSize), bounds)));
+        }
+    }
+
+    @Benchmark
+    public Map<Order, Courier> greedy() {
+        return greedy.dispatchAll(orders, couriers);
+    }
+
+    @Benchmark
+    public Map<Order, Courier> optimal() {
+        return optimal.dispatchAll(orders, couriers);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderDispatcherBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
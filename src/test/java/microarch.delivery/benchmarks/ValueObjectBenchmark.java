@@ -0,0 +1,118 @@
+package microarch.delivery.benchmarks;
+
+import libs.ddd.ValueObject;
+import microarch.delivery.core.domain.model.kernel.Volume;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение и проверка равенства value object-ов: прежний путь через equalityComponents
+ * против PrimitiveValueObject. Профилировщик GC печатает gc.alloc.rate.norm - байты на операцию.
+ * Запуск: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=microarch.delivery.benchmarks.ValueObjectBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ValueObjectBenchmark {
+
+    // Столько мест хранения проверяет диспетчер на пачке среднего размера
+    private static final int SIZE = 1024;
+
+    private final Volume[] volumes = new Volume[SIZE];
+    private final LegacyVolume[] legacyVolumes = new LegacyVolume[SIZE];
+    private Volume orderVolume;
+    private LegacyVolume legacyOrderVolume;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            int value = 1 + random.nextInt(30);
+            volumes[i] = Volume.mustCreate(value);
+            legacyVolumes[i] = new LegacyVolume(value);
+        }
+        orderVolume = Volume.mustCreate(10);
+        legacyOrderVolume = new LegacyVolume(10);
+    }
+
+    @Benchmark
+    public int legacyCompare() {
+        int fitting = 0;
+        for (var volume : legacyVolumes) {
+            if (volume.compareTo(legacyOrderVolume) >= 0)
+                fitting++;
+        }
+        return fitting;
+    }
+
+    @Benchmark
+    public int primitiveCompare() {
+        int fitting = 0;
+        for (var volume : volumes) {
+            if (volume.isGreaterOrEqual(orderVolume))
+                fitting++;
+        }
+        return fitting;
+    }
+
+    @Benchmark
+    public int legacyEquals() {
+        int equal = 0;
+        for (var volume : legacyVolumes) {
+            if (volume.equals(legacyOrderVolume))
+                equal++;
+        }
+        return equal;
+    }
+
+    @Benchmark
+    public int primitiveEquals() {
+        int equal = 0;
+        for (var volume : volumes) {
+            if (volume.equals(orderVolume))
+                equal++;
+        }
+        return equal;
+    }
+
+    // Volume в том виде, в котором он был до PrimitiveValueObject
+    static final class LegacyVolume extends ValueObject<LegacyVolume> {
+        private final int value;
+
+        LegacyVolume(int value) {
+            this.value = value;
+        }
+
+        @Override
+        protected Iterable<Object> equalityComponents() {
+            return List.of(this.value);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ValueObjectBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -2,9 +2,10 @@ package microarch.delivery.core.application.commands;
 
 import libs.errs.Error;
 import libs.errs.Result;
-import libs.errs.UnitResult;
+import microarch.delivery.ApplicationProperties;
 import microarch.delivery.core.domain.model.courier.Courier;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Speed;
 import microarch.delivery.core.domain.model.kernel.Volume;
 import microarch.delivery.core.domain.model.order.Order;
@@ -14,11 +15,13 @@ import microarch.delivery.core.ports.OrderRepository;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class AssignOrderCommandHandlerTest {
@@ -26,6 +29,7 @@ class AssignOrderCommandHandlerTest {
     private final OrderRepository orderRepository = mock(OrderRepository.class);
     private final CourierRepository courierRepository = mock(CourierRepository.class);
     private final OrderDispatcher orderDispatcher = mock(OrderDispatcher.class);
+    private final ApplicationProperties properties = new ApplicationProperties();
 
     @Test
     void handleShouldBeSuccessWhenOrderAssignedToCourier() {
@@ -33,16 +37,18 @@ class AssignOrderCommandHandlerTest {
         var order = createOrder();
         var courier = createCourier();
 
-        when(orderRepository.findAnyCreated()).thenReturn(Optional.of(order));
-        when(courierRepository.findAllAvailable()).thenReturn(List.of(courier));
+        when(orderRepository.claimCreated(1)).thenReturn(List.of(order));
+        when(courierRepository.claimWithFreeVolume(order.getVolume(), false, order.getLocation(), 8))
+                .thenReturn(List.of(courier));
 
         Result<Courier, Error> dispatchResult = Result.success(courier);
         when(orderDispatcher.dispatch(order, List.of(courier))).thenReturn(dispatchResult);
 
-        var handler = new AssignOrderCommandHandlerImpl(orderRepository, courierRepository, orderDispatcher);
+        var handler = new AssignOrderCommandHandlerImpl(orderRepository, courierRepository, orderDispatcher, properties,
+                MapBounds.DEFAULT);
 
         // Act
-        UnitResult<Error> result = handler.handle();
+        Result<Integer, Error> result = handler.handle();
 
         // Assert
         assertThat(result.isSuccess()).isTrue();
@@ -56,12 +62,13 @@ class AssignOrderCommandHandlerTest {
     void handleShouldBeSuccessWhenNoCreatedOrders() {
         // Arrange
 
-        when(orderRepository.findAnyCreated()).thenReturn(Optional.empty());
+        when(orderRepository.claimCreated(1)).thenReturn(List.of());
 
-        var handler = new AssignOrderCommandHandlerImpl(orderRepository, courierRepository, orderDispatcher);
+        var handler = new AssignOrderCommandHandlerImpl(orderRepository, courierRepository, orderDispatcher, properties,
+                MapBounds.DEFAULT);
 
         // Act
-        UnitResult<Error> result = handler.handle();
+        Result<Integer, Error> result = handler.handle();
 
         // Assert
         assertThat(result.isSuccess()).isTrue();
@@ -75,18 +82,20 @@ class AssignOrderCommandHandlerTest {
         // Arrange
         var order = createOrder();
 
-        when(orderRepository.findAnyCreated()).thenReturn(Optional.of(order));
-        when(courierRepository.findAllAvailable()).thenReturn(List.of());
+        when(orderRepository.claimCreated(1)).thenReturn(List.of(order));
+        when(courierRepository.claimWithFreeVolume(Volume.mustCreate(10), false, order.getLocation(), 8))
+                .thenReturn(List.of());
 
         Result<Courier, Error> dispatchResult = Result.failure(
                 Error.of("courier.is.not.found.order", "Нет доступных курьеров")
         );
         when(orderDispatcher.dispatch(order, List.of())).thenReturn(dispatchResult);
 
-        var handler = new AssignOrderCommandHandlerImpl(orderRepository, courierRepository, orderDispatcher);
+        var handler = new AssignOrderCommandHandlerImpl(orderRepository, courierRepository, orderDispatcher, properties,
+                MapBounds.DEFAULT);
 
         // Act
-        UnitResult<Error> result = handler.handle();
+        Result<Integer, Error> result = handler.handle();
 
         // Assert
         assertThat(result.isSuccess()).isFalse();
@@ -95,11 +104,103 @@ class AssignOrderCommandHandlerTest {
         verify(courierRepository, never()).save(any());
     }
 
+    @Test
+    void handleShouldAssignWholeBatchWhenBatchModeEnabled() {
+        // Arrange
+        properties.getDispatch().setBatchSize(10);
+        var order1 = createOrder();
+        var order2 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(9, 9, MapBounds.DEFAULT), Volume.mustCreate(10));
+        var courier1 = createCourier();
+        var courier2 = createCourier();
+
+        when(orderRepository.claimCreated(10)).thenReturn(List.of(order1, order2));
+        // Курьеры захватываются для каждого заказа у его точки доставки.
+        // Пулы заказов пересекаются, в распределение курьер попадает один раз
+        when(courierRepository.claimWithFreeVolume(order1.getVolume(), false, order1.getLocation(), 8))
+                .thenReturn(List.of(courier1, courier2));
+        when(courierRepository.claimWithFreeVolume(order2.getVolume(), false, order2.getLocation(), 8))
+                .thenReturn(List.of(courier2, courier1));
+        when(orderDispatcher.dispatchAll(List.of(order1, order2), List.of(courier1, courier2)))
+                .thenReturn(Map.of(order1, courier1, order2, courier2));
+
+        var handler = new AssignOrderCommandHandlerImpl(orderRepository, courierRepository, orderDispatcher, properties,
+                MapBounds.DEFAULT);
+
+        // Act
+        Result<Integer, Error> result = handler.handle();
+
+        // Assert
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getValue()).isEqualTo(2);
+        verify(orderRepository, never()).claimCreated(1);
+        verify(orderRepository).saveAll(argThat(orders -> orders.size() == 2));
+        verify(courierRepository).saveAll(argThat(couriers -> couriers.size() == 2));
+        verify(orderRepository, never()).save(any());
+        verify(courierRepository, never()).save(any());
+    }
+
+    @Test
+    void handleShouldReturnFailureWhenNoOrderOfBatchAssigned() {
+        // Arrange
+        properties.getDispatch().setBatchSize(10);
+        var order = createOrder();
+
+        when(orderRepository.claimCreated(10)).thenReturn(List.of(order));
+        when(courierRepository.claimWithFreeVolume(Volume.mustCreate(10), false, order.getLocation(), 8))
+                .thenReturn(List.of());
+        when(orderDispatcher.dispatchAll(List.of(order), List.of())).thenReturn(Map.of());
+
+        var handler = new AssignOrderCommandHandlerImpl(orderRepository, courierRepository, orderDispatcher, properties,
+                MapBounds.DEFAULT);
+
+        // Act
+        Result<Integer, Error> result = handler.handle();
+
+        // Assert
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getError().getCode()).isEqualTo("couriers.are.not.found.orders");
+        verify(orderRepository, never()).saveAll(any());
+        verify(courierRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void handleShouldFallBackToCouriersOfOtherRegionsWhenClaimedRegionsHaveNone() {
+        // Arrange
+        properties.getDispatch().setBatchSize(10);
+        properties.getDispatch().getRegions().setTileSize(5);
+        properties.getDispatch().getRegions().setClaimed(List.of(0));
+        var order = createOrder();
+        var courier = createCourier();
+
+        when(orderRepository.claimCreatedInRegions(any(), eq(List.of(0)), eq(10))).thenReturn(List.of(order));
+        when(orderRepository.claimCreatedBefore(any(), eq(10))).thenReturn(List.of(order));
+        when(courierRepository.claimInRegions(any(), eq(List.of(0)), eq(order.getVolume()), eq(false),
+                eq(order.getLocation()), eq(8)))
+                .thenReturn(List.of());
+        when(courierRepository.claimWithFreeVolume(order.getVolume(), false, order.getLocation(), 8))
+                .thenReturn(List.of(courier));
+        when(orderDispatcher.dispatchAll(List.of(order), List.of())).thenReturn(Map.of());
+        when(orderDispatcher.dispatchAll(List.of(order), List.of(courier))).thenReturn(Map.of(order, courier));
+
+        var handler = new AssignOrderCommandHandlerImpl(orderRepository, courierRepository, orderDispatcher, properties,
+                MapBounds.DEFAULT);
+
+        // Act
+        Result<Integer, Error> result = handler.handle();
+
+        // Assert
+        assertThat(result.isSuccess()).isTrue();
+        verify(orderRepository, never()).claimCreated(anyInt());
+        verify(orderRepository).saveAll(List.of(order));
+        verify(courierRepository).saveAll(List.of(courier));
+    }
+
     // Вспомогательные методы
     private Order createOrder() {
         return Order.mustCreate(
                 UUID.randomUUID(),
-                Location.mustCreate(5, 5),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT),
                 Volume.mustCreate(10)
         );
     }
@@ -108,7 +209,7 @@ class AssignOrderCommandHandlerTest {
         return Courier.mustCreate(
                 "Иван Петров",
                 Speed.mustCreate(2),
-                Location.mustCreate(1, 1)
+                Location.mustCreate(1, 1, MapBounds.DEFAULT)
         );
     }
 }
\ No newline at end of file
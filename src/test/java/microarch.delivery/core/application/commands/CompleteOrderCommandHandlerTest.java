@@ -5,6 +5,7 @@ import libs.errs.Error;
 import libs.errs.UnitResult;
 import microarch.delivery.core.domain.model.courier.Courier;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Speed;
 import microarch.delivery.core.domain.model.kernel.Volume;
 import microarch.delivery.core.domain.model.order.Order;
@@ -31,7 +32,7 @@ class CompleteOrderCommandHandlerTest {
         // Arrange
         var courierId = UUID.randomUUID();
         var orderId = UUID.randomUUID();
-        var targetLocation = Location.mustCreate(5, 5);
+        var targetLocation = Location.mustCreate(5, 5, MapBounds.DEFAULT);
 
         var command = CompleteOrderCommand.create(courierId, orderId).getValue();
 
@@ -82,7 +83,7 @@ class CompleteOrderCommandHandlerTest {
         var orderId = UUID.randomUUID();
         var command = CompleteOrderCommand.create(courierId, orderId).getValue();
 
-        var order = Order.mustCreate(orderId, Location.mustCreate(5, 5), Volume.mustCreate(10));
+        var order = Order.mustCreate(orderId, Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(10));
         order.assign(otherCourierId); // Заказ назначен на другого курьера
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
@@ -2,6 +2,7 @@ package microarch.delivery.core.application.commands;
 
 import libs.errs.Error;
 import libs.errs.Result;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.ports.CourierRepository;
 import org.junit.jupiter.api.Test;
 
@@ -21,7 +22,7 @@ class CreateCourierCommandHandlerTest {
         assertThat(commandResult.isSuccess()).isTrue();
         var command = commandResult.getValue();
 
-        var handler = new CreateCourierCommandHandlerImpl(courierRepository);
+        var handler = new CreateCourierCommandHandlerImpl(courierRepository, MapBounds.DEFAULT);
 
         // Act
         Result<UUID, Error> result = handler.handle(command);
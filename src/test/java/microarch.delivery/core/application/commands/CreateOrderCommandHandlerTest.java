@@ -3,12 +3,15 @@ package microarch.delivery.core.application.commands;
 import libs.ddd.DomainEventPublisher;
 import libs.errs.Error;
 import libs.errs.Result;
+import microarch.delivery.core.domain.model.kernel.DeliveryPeriod;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Volume;
 import microarch.delivery.core.domain.model.order.Order;
 import microarch.delivery.core.ports.GeoClient;
 import microarch.delivery.core.ports.OrderRepository;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -43,7 +46,7 @@ class CreateOrderCommandHandlerTest {
         var command = commandResult.getValue();
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
-        when(geoClient.getLocation(command.getAddress())).thenReturn(Location.mustCreate(1,2));
+        when(geoClient.getLocation(command.getAddress())).thenReturn(Location.mustCreate(1,2, MapBounds.DEFAULT));
 
         var handler = new CreateOrderCommandHandlerImpl(orderRepository, geoClient, domainEventPublisher);
 
@@ -59,6 +62,53 @@ class CreateOrderCommandHandlerTest {
         verify(domainEventPublisher).publish(any());
     }
 
+    @Test
+    void handleShouldKeepDeliveryPeriodOfBasket() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        var command = CreateOrderCommand.create(orderId, "Россия", "Москва", "Тверская", "10", "25", 5, 9, 12)
+                .getValue();
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(geoClient.getLocation(command.getAddress())).thenReturn(Location.mustCreate(1, 2, MapBounds.DEFAULT));
+
+        var handler = new CreateOrderCommandHandlerImpl(orderRepository, geoClient, domainEventPublisher);
+
+        // Act
+        Result<UUID, Error> result = handler.handle(command);
+
+        // Assert
+        assertThat(result.isSuccess()).isTrue();
+        var saved = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(saved.capture());
+        assertThat(saved.getValue().getDeliveryPeriod()).isEqualTo(DeliveryPeriod.mustCreate(9, 12));
+        assertThat(saved.getValue().getDeliveryDeadline()).isNotNull();
+    }
+
+    @Test
+    void handleShouldCreateOrderWithoutDeadlineWhenDeliveryPeriodIsInvalid() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        var commandResult = CreateOrderCommand.create(orderId, "Россия", "Москва", "Тверская", "10", "25", 5, 12, 9);
+        assertThat(commandResult.isSuccess()).isTrue();
+        var command = commandResult.getValue();
+
+        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(geoClient.getLocation(command.getAddress())).thenReturn(Location.mustCreate(1, 2, MapBounds.DEFAULT));
+
+        var handler = new CreateOrderCommandHandlerImpl(orderRepository, geoClient, domainEventPublisher);
+
+        // Act
+        Result<UUID, Error> result = handler.handle(command);
+
+        // Assert
+        assertThat(result.isSuccess()).isTrue();
+        var saved = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(saved.capture());
+        assertThat(saved.getValue().getDeliveryPeriod()).isNull();
+        assertThat(saved.getValue().getDeliveryDeadline()).isNull();
+    }
+
     @Test
     void handleShouldReturnExistingOrderIdWhenOrderAlreadyExists() {
         // Arrange
@@ -75,7 +125,8 @@ class CreateOrderCommandHandlerTest {
         assertThat(commandResult.isSuccess()).isTrue();
         var command = commandResult.getValue();
 
-        var existingOrder = Order.mustCreate(orderId, Location.mustCreate(3, 4), Volume.mustCreate(5));
+        var existingOrder = Order.mustCreate(orderId,
+                Location.mustCreate(3, 4, MapBounds.DEFAULT), Volume.mustCreate(5));
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
 
         var handler = new CreateOrderCommandHandlerImpl(orderRepository, geoClient, domainEventPublisher);
@@ -5,15 +5,21 @@ import libs.errs.Error;
 import libs.errs.UnitResult;
 import microarch.delivery.core.domain.model.courier.Courier;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Speed;
 import microarch.delivery.core.domain.model.kernel.Volume;
 import microarch.delivery.core.domain.model.order.Order;
+import microarch.delivery.core.domain.model.order.OrderStatus;
+import microarch.delivery.core.domain.services.RoutePlanner;
+import microarch.delivery.core.domain.services.RoutePlannerImpl;
 import microarch.delivery.core.ports.CourierRepository;
+import microarch.delivery.core.ports.JobLeaseRepository;
 import microarch.delivery.core.ports.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,16 +30,25 @@ class MoveCourierCommandHandlerTest {
     private final OrderRepository orderRepository = mock(OrderRepository.class);
     private final CourierRepository courierRepository = mock(CourierRepository.class);
     private final DomainEventPublisher domainEventPublisher = mock(DomainEventPublisher.class);
+    private final RoutePlanner routePlanner = new RoutePlannerImpl();
+    private final JobLeaseRepository jobLeaseRepository = mock(JobLeaseRepository.class);
+
+    @BeforeEach
+    void setUp() {
+        when(jobLeaseRepository.tryAcquire(any(), any())).thenReturn(true);
+    }
 
     @Test
     void handleShouldMoveAndSaveCouriersWhenAssignedOrdersExist() {
         // Arrange
 
-        var courier1 = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1));
-        var courier2 = Courier.mustCreate("Петр", Speed.mustCreate(2), Location.mustCreate(2, 2));
+        var courier1 = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var courier2 = Courier.mustCreate("Петр", Speed.mustCreate(2), Location.mustCreate(2, 2, MapBounds.DEFAULT));
 
-        var order1 = Order.mustCreate(UUID.randomUUID(), Location.mustCreate(5, 5), Volume.mustCreate(10));
-        var order2 = Order.mustCreate(UUID.randomUUID(), Location.mustCreate(8, 8), Volume.mustCreate(10));
+        var order1 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(10));
+        var order2 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(8, 8, MapBounds.DEFAULT), Volume.mustCreate(10));
 
         // Курьеры берут заказы
         courier1.takeOrder(order1.getId(), Volume.mustCreate(10));
@@ -44,25 +59,28 @@ class MoveCourierCommandHandlerTest {
         order2.assign(courier2.getId());
 
         when(orderRepository.findAllAssigned()).thenReturn(List.of(order1, order2));
-        when(courierRepository.findById(courier1.getId())).thenReturn(Optional.of(courier1));
-        when(courierRepository.findById(courier2.getId())).thenReturn(Optional.of(courier2));
+        when(courierRepository.findAllByIds(Set.of(courier1.getId(), courier2.getId())))
+                .thenReturn(List.of(courier1, courier2));
 
-        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher);
+        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher, routePlanner,
+                jobLeaseRepository);
 
         // Act
         UnitResult<Error> result = handler.handle();
 
         // Assert
         assertThat(result.isSuccess()).isTrue();
-        verify(courierRepository, times(2)).save(any(Courier.class));
-        verify(orderRepository, never()).save(any());
+        verify(courierRepository, times(1)).findAllByIds(any());
+        verify(courierRepository, never()).findById(any());
+        verify(courierRepository).saveAll(argThat(couriers -> couriers.containsAll(List.of(courier1, courier2))));
+        verify(orderRepository, never()).saveAll(any());
     }
 
     @Test
     void handleShouldCompleteOrdersAndSaveBothWhenCourierInTargetLocation() {
         // Arrange
 
-        var targetLocation = Location.mustCreate(5, 5);
+        var targetLocation = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), targetLocation);
         var order = Order.mustCreate(UUID.randomUUID(), targetLocation, Volume.mustCreate(10));
 
@@ -72,17 +90,18 @@ class MoveCourierCommandHandlerTest {
         order.assign(courier.getId());
 
         when(orderRepository.findAllAssigned()).thenReturn(List.of(order));
-        when(courierRepository.findById(courier.getId())).thenReturn(Optional.of(courier));
+        when(courierRepository.findAllByIds(Set.of(courier.getId()))).thenReturn(List.of(courier));
 
-        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher);
+        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher, routePlanner,
+                jobLeaseRepository);
 
         // Act
         UnitResult<Error> result = handler.handle();
 
         // Assert
         assertThat(result.isSuccess()).isTrue();
-        verify(orderRepository).save(order);
-        verify(courierRepository).save(courier);
+        verify(orderRepository).saveAll(List.of(order));
+        verify(courierRepository).saveAll(argThat(couriers -> couriers.contains(courier)));
         verify(domainEventPublisher).publish(any());
     }
 
@@ -90,8 +109,9 @@ class MoveCourierCommandHandlerTest {
     void handleShouldNotSaveWhenMoveFails() {
         // Arrange
 
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1));
-        var order = Order.mustCreate(UUID.randomUUID(), Location.mustCreate(5, 5), Volume.mustCreate(10));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(10));
 
         courier.takeOrder(order.getId(), Volume.mustCreate(10));
         order.assign(courier.getId());
@@ -101,9 +121,10 @@ class MoveCourierCommandHandlerTest {
                 .when(courierSpy).move(any());
 
         when(orderRepository.findAllAssigned()).thenReturn(List.of(order));
-        when(courierRepository.findById(courier.getId())).thenReturn(Optional.of(courierSpy));
+        when(courierRepository.findAllByIds(Set.of(courier.getId()))).thenReturn(List.of(courierSpy));
 
-        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher);
+        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher, routePlanner,
+                jobLeaseRepository);
 
         // Act
         UnitResult<Error> result = handler.handle();
@@ -111,8 +132,8 @@ class MoveCourierCommandHandlerTest {
         // Assert
         assertThat(result.isSuccess()).isFalse();
         assertThat(result.getError().getCode()).isEqualTo("move.couriers.partial");
-        verify(courierRepository, never()).save(any());
-        verify(orderRepository, never()).save(any());
+        verify(courierRepository, never()).saveAll(any());
+        verify(orderRepository, never()).saveAll(any());
     }
 
     @Test
@@ -121,16 +142,17 @@ class MoveCourierCommandHandlerTest {
 
         when(orderRepository.findAllAssigned()).thenReturn(List.of());
 
-        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher);
+        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher, routePlanner,
+                jobLeaseRepository);
 
         // Act
         UnitResult<Error> result = handler.handle();
 
         // Assert
         assertThat(result.isSuccess()).isTrue();
-        verify(courierRepository, never()).findById(any());
-        verify(courierRepository, never()).save(any());
-        verify(orderRepository, never()).save(any());
+        verify(courierRepository, never()).findAllByIds(any());
+        verify(courierRepository, never()).saveAll(any());
+        verify(orderRepository, never()).saveAll(any());
     }
 
     @Test
@@ -138,13 +160,15 @@ class MoveCourierCommandHandlerTest {
         // Arrange
 
         var courierId = UUID.randomUUID();
-        var order = Order.mustCreate(UUID.randomUUID(), Location.mustCreate(5, 5), Volume.mustCreate(10));
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(10));
         order.assign(courierId);
 
         when(orderRepository.findAllAssigned()).thenReturn(List.of(order));
-        when(courierRepository.findById(courierId)).thenReturn(Optional.empty());
+        when(courierRepository.findAllByIds(Set.of(courierId))).thenReturn(List.of());
 
-        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher);
+        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher, routePlanner,
+                jobLeaseRepository);
 
         // Act
         UnitResult<Error> result = handler.handle();
@@ -152,7 +176,94 @@ class MoveCourierCommandHandlerTest {
         // Assert
         assertThat(result.isSuccess()).isFalse();
         assertThat(result.getError().getCode()).isEqualTo("move.couriers.partial");
-        verify(courierRepository, never()).save(any());
-        verify(orderRepository, never()).save(any());
+        verify(courierRepository, never()).saveAll(any());
+        verify(orderRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void handleShouldMoveCourierOnceAlongRouteOfSeveralOrders() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(1), Location.mustCreate(3, 3, MapBounds.DEFAULT));
+        courier.addStoragePlace("Багажник", Volume.mustCreate(30));
+        courier.addStoragePlace("Кофр", Volume.mustCreate(30));
+
+        var doneOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(3, 3, MapBounds.DEFAULT), Volume.mustCreate(10));
+        var farOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(9, 9, MapBounds.DEFAULT), Volume.mustCreate(10));
+        var nearOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(3, 5, MapBounds.DEFAULT), Volume.mustCreate(10));
+
+        // Курьер везет сразу три заказа
+        for (var order : List.of(doneOrder, farOrder, nearOrder)) {
+            courier.takeOrder(order.getId(), order.getVolume());
+            order.assign(courier.getId());
+        }
+
+        when(orderRepository.findAllAssigned()).thenReturn(List.of(farOrder, doneOrder, nearOrder));
+        when(courierRepository.findAllByIds(Set.of(courier.getId()))).thenReturn(List.of(courier));
+
+        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher, routePlanner,
+                jobLeaseRepository);
+
+        // Act
+        UnitResult<Error> result = handler.handle();
+
+        // Assert
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(doneOrder.getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        assertThat(courier.getLocation()).isEqualTo(Location.mustCreate(3, 4, MapBounds.DEFAULT));
+        verify(orderRepository).saveAll(List.of(doneOrder));
+        verify(courierRepository).saveAll(Set.of(courier));
+    }
+
+    @Test
+    void handleShouldDropRoutesOfCouriersWithoutAssignedOrders() {
+        // Arrange
+        var courier1 = Courier.mustCreate("Иван", Speed.mustCreate(1), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var courier2 = Courier.mustCreate("Петр", Speed.mustCreate(1), Location.mustCreate(2, 2, MapBounds.DEFAULT));
+        var order1 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(10));
+        var order2 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(8, 8, MapBounds.DEFAULT), Volume.mustCreate(10));
+        courier1.takeOrder(order1.getId(), Volume.mustCreate(10));
+        courier2.takeOrder(order2.getId(), Volume.mustCreate(10));
+        order1.assign(courier1.getId());
+        order2.assign(courier2.getId());
+
+        when(courierRepository.findAllByIds(any())).thenReturn(List.of(courier1, courier2));
+        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher, routePlanner,
+                jobLeaseRepository);
+
+        // Act
+        when(orderRepository.findAllAssigned()).thenReturn(List.of(order1, order2));
+        handler.handle();
+        var afterFirstTick = Set.copyOf(handler.routes.keySet());
+        // Заказ второго курьера больше не назначен на него
+        when(orderRepository.findAllAssigned()).thenReturn(List.of(order1));
+        handler.handle();
+        var afterSecondTick = Set.copyOf(handler.routes.keySet());
+        when(orderRepository.findAllAssigned()).thenReturn(List.of());
+        handler.handle();
+
+        // Assert
+        assertThat(afterFirstTick).containsExactlyInAnyOrder(courier1.getId(), courier2.getId());
+        assertThat(afterSecondTick).containsExactly(courier1.getId());
+        assertThat(handler.routes).isEmpty();
+    }
+
+    @Test
+    void handleShouldSkipTickTakenByAnotherInstance() {
+        // Arrange
+        when(jobLeaseRepository.tryAcquire(any(), any())).thenReturn(false);
+        var handler = new MoveCourierCommandHandlerImpl(orderRepository, courierRepository, domainEventPublisher, routePlanner,
+                jobLeaseRepository);
+
+        // Act
+        UnitResult<Error> result = handler.handle();
+
+        // Assert
+        assertThat(result.isSuccess()).isTrue();
+        verifyNoInteractions(orderRepository, courierRepository, domainEventPublisher);
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import libs.errs.Error;
 import libs.errs.UnitResult;
 import microarch.delivery.core.domain.model.courier.Courier;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Speed;
 import microarch.delivery.core.ports.CourierRepository;
 import org.junit.jupiter.api.Test;
@@ -23,10 +24,10 @@ class MoveCourierInLocationCommandHandlerTest {
     void handle_ShouldMoveCourier_WhenCourierExists() {
         // Arrange
         var courierId = UUID.randomUUID();
-        var targetLocation = Location.mustCreate(5, 5);
+        var targetLocation = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var command = MoveCourierInLocationCommand.create(courierId, targetLocation).getValue();
 
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
 
         when(courierRepository.findById(courierId)).thenReturn(Optional.of(courier));
 
@@ -36,14 +37,14 @@ class MoveCourierInLocationCommandHandlerTest {
         // Assert
         assertThat(result.isSuccess()).isTrue();
         verify(courierRepository).save(courier);
-        assertThat(courier.getLocation()).isNotEqualTo(Location.mustCreate(1, 1));
+        assertThat(courier.getLocation()).isNotEqualTo(Location.mustCreate(1, 1, MapBounds.DEFAULT));
     }
 
     @Test
     void handle_ShouldReturnFailure_WhenCourierNotFound() {
         // Arrange
         var courierId = UUID.randomUUID();
-        var targetLocation = Location.mustCreate(5, 5);
+        var targetLocation = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var command = MoveCourierInLocationCommand.create(courierId, targetLocation).getValue();
 
         when(courierRepository.findById(courierId)).thenReturn(Optional.empty());
@@ -0,0 +1,105 @@
+package microarch.delivery.core.application.jobs;
+
+import libs.errs.Result;
+import microarch.delivery.ApplicationProperties;
+import microarch.delivery.core.application.commands.AssignOrderCommandHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class AssignOrdersCoalescerTest {
+
+    private final AssignOrderCommandHandler handler = mock(AssignOrderCommandHandler.class);
+    private final ApplicationProperties properties = new ApplicationProperties();
+    private AssignOrdersCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    void shouldCoalesceBurstOfSignalsIntoSingleRun() {
+        // Arrange
+        properties.getDispatch().setCoalesceWindow(Duration.ofMillis(100));
+        when(handler.handle()).thenReturn(Result.success(0));
+        coalescer = new AssignOrdersCoalescer(handler, properties);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            coalescer.signal();
+        }
+
+        // Assert
+        verify(handler, after(500).times(1)).handle();
+    }
+
+    @Test
+    void shouldRunQuartzPollThroughSameCoalescer() {
+        // Arrange
+        properties.getDispatch().setCoalesceWindow(Duration.ofMillis(100));
+        when(handler.handle()).thenReturn(Result.success(0));
+        coalescer = new AssignOrdersCoalescer(handler, properties);
+        var job = new AssignOrdersJob(coalescer);
+
+        // Act
+        coalescer.signal();
+        job.execute(null);
+
+        // Assert
+        verify(handler, after(500).times(1)).handle();
+    }
+
+    @Test
+    void shouldKeepAssigningWithinRunUntilNothingIsLeft() {
+        // Arrange
+        properties.getDispatch().setCoalesceWindow(Duration.ofMillis(100));
+        when(handler.handle())
+                .thenReturn(Result.success(1))
+                .thenReturn(Result.success(1))
+                .thenReturn(Result.success(1))
+                .thenReturn(Result.success(0));
+        coalescer = new AssignOrdersCoalescer(handler, properties);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            coalescer.signal();
+        }
+
+        // Assert
+        verify(handler, after(500).times(4)).handle();
+    }
+
+    @Test
+    void shouldRunAgainWhenSignalArrivesDuringRun() throws InterruptedException {
+        // Arrange
+        properties.getDispatch().setCoalesceWindow(Duration.ZERO);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(handler.handle())
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await();
+                    return Result.success(0);
+                })
+                .thenReturn(Result.success(0));
+        coalescer = new AssignOrdersCoalescer(handler, properties);
+
+        // Act
+        coalescer.signal();
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        coalescer.signal();
+        coalescer.signal();
+        release.countDown();
+
+        // Assert
+        verify(handler, timeout(1000).times(2)).handle();
+        verify(handler, after(200).times(2)).handle();
+    }
+}
@@ -5,6 +5,7 @@ import microarch.delivery.adapters.out.postgres.PostgresIntegrationTestBase;
 import microarch.delivery.core.application.queries.dto.CourierDto;
 import microarch.delivery.core.domain.model.courier.Courier;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Speed;
 import microarch.delivery.core.ports.CourierRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -41,13 +42,13 @@ class GetAllCouriersQueryHandlerIntegrationTest extends PostgresIntegrationTestB
         var courier1 = Courier.mustCreate(
                 "Иван Петров",
                 Speed.mustCreate(2),
-                Location.mustCreate(3, 4)
+                Location.mustCreate(3, 4, MapBounds.DEFAULT)
         );
 
         var courier2 = Courier.mustCreate(
                 "Петр Иванов",
                 Speed.mustCreate(1),
-                Location.mustCreate(7, 8)
+                Location.mustCreate(7, 8, MapBounds.DEFAULT)
         );
 
         courierRepository.save(courier1);
@@ -66,13 +67,13 @@ class GetAllCouriersQueryHandlerIntegrationTest extends PostgresIntegrationTestB
         CourierDto dto1 = findDtoById(response.couriers(), courier1.getId());
         assertThat(dto1).isNotNull();
         assertThat(dto1.name()).isEqualTo("Иван Петров");
-        assertThat(dto1.location()).isEqualTo(Location.mustCreate(3, 4));
+        assertThat(dto1.location()).isEqualTo(Location.mustCreate(3, 4, MapBounds.DEFAULT));
 
         // Проверяем второго курьера
         CourierDto dto2 = findDtoById(response.couriers(), courier2.getId());
         assertThat(dto2).isNotNull();
         assertThat(dto2.name()).isEqualTo("Петр Иванов");
-        assertThat(dto2.location()).isEqualTo(Location.mustCreate(7, 8));
+        assertThat(dto2.location()).isEqualTo(Location.mustCreate(7, 8, MapBounds.DEFAULT));
     }
 
     @Test
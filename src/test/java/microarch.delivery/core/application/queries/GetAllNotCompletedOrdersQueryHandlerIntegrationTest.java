@@ -4,6 +4,7 @@ import microarch.delivery.adapters.out.postgres.OrderJpaRepository;
 import microarch.delivery.adapters.out.postgres.PostgresIntegrationTestBase;
 import microarch.delivery.core.application.queries.dto.OrderDto;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Volume;
 import microarch.delivery.core.domain.model.order.Order;
 import microarch.delivery.core.ports.OrderRepository;
@@ -40,20 +41,20 @@ class GetAllNotCompletedOrdersQueryHandlerIntegrationTest extends PostgresIntegr
         // Arrange
         var order1 = Order.mustCreate(
                 UUID.randomUUID(),
-                Location.mustCreate(1, 2),
+                Location.mustCreate(1, 2, MapBounds.DEFAULT),
                 Volume.mustCreate(5)
         ); // статус CREATED
 
         var order2 = Order.mustCreate(
                 UUID.randomUUID(),
-                Location.mustCreate(3, 4),
+                Location.mustCreate(3, 4, MapBounds.DEFAULT),
                 Volume.mustCreate(10)
         );
         order2.assign(UUID.randomUUID()); // статус ASSIGNED
 
         var completedOrder = Order.mustCreate(
                 UUID.randomUUID(),
-                Location.mustCreate(5, 6),
+                Location.mustCreate(5, 6, MapBounds.DEFAULT),
                 Volume.mustCreate(15)
         );
         completedOrder.assign(UUID.randomUUID());
@@ -88,7 +89,7 @@ class GetAllNotCompletedOrdersQueryHandlerIntegrationTest extends PostgresIntegr
         // Arrange
         var completedOrder = Order.mustCreate(
                 UUID.randomUUID(),
-                Location.mustCreate(1, 2),
+                Location.mustCreate(1, 2, MapBounds.DEFAULT),
                 Volume.mustCreate(5)
         );
         completedOrder.assign(UUID.randomUUID());
@@ -121,7 +122,7 @@ class GetAllNotCompletedOrdersQueryHandlerIntegrationTest extends PostgresIntegr
         // Arrange
         var order = Order.mustCreate(
                 UUID.randomUUID(),
-                Location.mustCreate(5, 7),
+                Location.mustCreate(5, 7, MapBounds.DEFAULT),
                 Volume.mustCreate(20)
         );
         orderRepository.save(order);
@@ -138,7 +139,7 @@ class GetAllNotCompletedOrdersQueryHandlerIntegrationTest extends PostgresIntegr
 
         // Проверяем, что DTO содержит только нужные поля
         assertThat(dto.id()).isEqualTo(order.getId());
-        assertThat(dto.location()).isEqualTo(Location.mustCreate(5, 7));
+        assertThat(dto.location()).isEqualTo(Location.mustCreate(5, 7, MapBounds.DEFAULT));
 
         // Проверяем, что статус, объем и courierId не попали в DTO
         assertThat(dto).hasNoNullFieldsOrProperties();
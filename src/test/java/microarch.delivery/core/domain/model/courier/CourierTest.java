@@ -1,6 +1,8 @@
 package microarch.delivery.core.domain.model.courier;
 
+import microarch.delivery.core.domain.model.courier.event.CourierReleasedDomainEvent;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Speed;
 import microarch.delivery.core.domain.model.kernel.Volume;
 import org.junit.jupiter.api.Test;
@@ -20,7 +22,7 @@ class CourierTest {
         // Arrange
         String name = "Иван";
         Speed speed = Speed.mustCreate(2);
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
 
         // Act
         var result = Courier.create(name, speed, location);
@@ -46,7 +48,7 @@ class CourierTest {
     @ValueSource(strings = {" ", "\t", "\n"})
     void shouldReturnErrorWhenNameIsInvalid(String invalidName) {
         // Arrange
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
 
         // Act
         var result = Courier.create(invalidName, Speed.mustCreate(2), location);
@@ -69,7 +71,7 @@ class CourierTest {
     @Test
     void shouldReturnErrorWhenSpeedIsNull() {
         // Act
-        var result = Courier.create("Иван", null, Location.mustCreate(5, 5));
+        var result = Courier.create("Иван", null, Location.mustCreate(5, 5, MapBounds.DEFAULT));
 
         // Assert
         assertThat(result.isSuccess()).isFalse();
@@ -79,9 +81,9 @@ class CourierTest {
     @Test
     void shouldReturnTrueWhenCourierLocationEqualsTarget() {
         // Arrange
-        var location = Location.mustCreate(5, 5);
+        var location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), location);
-        var target = Location.mustCreate(5, 5);
+        var target = Location.mustCreate(5, 5, MapBounds.DEFAULT);
 
         // Act
         boolean result = courier.isInTargetLocation(target);
@@ -93,7 +95,7 @@ class CourierTest {
     @Test
     void shouldThrowException_WhenTargetIsNull() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
 
         // Act & Assert
         assertThatThrownBy(() -> courier.isInTargetLocation(null))
@@ -103,8 +105,8 @@ class CourierTest {
     @Test
     void shouldReturnFalseWhenCourierLocationDiffersFromTarget() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(3, 4));
-        var target = Location.mustCreate(5, 5);
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(3, 4, MapBounds.DEFAULT));
+        var target = Location.mustCreate(5, 5, MapBounds.DEFAULT);
 
         // Act
         boolean result = courier.isInTargetLocation(target);
@@ -117,7 +119,7 @@ class CourierTest {
     @Test
     void shouldReturnTrueWhenCourierHasNoActiveOrders() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
 
         // Act & Assert
         assertThat(courier.hasNoActiveOrders()).isTrue();
@@ -126,7 +128,7 @@ class CourierTest {
     @Test
     void shouldReturnFalseWhenCourierHasActiveOrder() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
         UUID orderId = UUID.randomUUID();
         Volume orderVolume = Volume.mustCreate(5);
         courier.takeOrder(orderId, orderVolume);
@@ -138,7 +140,7 @@ class CourierTest {
     @Test
     void shouldAddStoragePlaceSuccessfully() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
 
         // Act
         var result = courier.addStoragePlace("Рюкзак", Volume.mustCreate(20));
@@ -156,7 +158,7 @@ class CourierTest {
     @Test
     void shouldReturnErrorWhenAddingInvalidStoragePlace() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
 
         // Act
         var result = courier.addStoragePlace("", Volume.mustCreate(20));
@@ -170,7 +172,7 @@ class CourierTest {
     @Test
     void shouldReturnTrueWhenThereIsSuitableStoragePlace() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
         courier.addStoragePlace("Рюкзак", Volume.mustCreate(20));
 
         // Assert
@@ -182,7 +184,7 @@ class CourierTest {
     @Test
     void shouldReturnFalseWhenNoSuitableStoragePlace() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
 
         // Assert
         assertThat(courier.canPlaceOrder(Volume.mustCreate(11))).isFalse();
@@ -192,7 +194,7 @@ class CourierTest {
     @Test
     void shouldTakeOrderAndPlaceInExactlyMatchingVolume() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
         UUID orderId = UUID.randomUUID();
 
         // Act
@@ -208,7 +210,7 @@ class CourierTest {
     @Test
     void shouldNotTakeOrderWhenNoSuitablePlace() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
         UUID orderId = UUID.randomUUID();
 
         // Act
@@ -223,7 +225,7 @@ class CourierTest {
     @Test
     void shouldThrowExceptionWhenTakingOrderWithNullOrderId() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
 
         // Assert
         assertThatThrownBy(() -> courier.takeOrder(null, Volume.mustCreate(5)))
@@ -234,7 +236,7 @@ class CourierTest {
     @Test
     void shouldCompleteOrderAndFreeStoragePlace() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
         UUID orderId = UUID.randomUUID();
         courier.takeOrder(orderId, Volume.mustCreate(5));
 
@@ -248,10 +250,29 @@ class CourierTest {
         assertThat(bag.getOrderId()).isNull();
     }
 
+    @Test
+    void shouldRaiseCourierReleasedEventWhenOrderCompleted() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
+        UUID orderId = UUID.randomUUID();
+        courier.takeOrder(orderId, Volume.mustCreate(5));
+
+        // Act
+        courier.completeOrder(orderId);
+        courier.completeOrder(UUID.randomUUID());
+
+        // Assert
+        assertThat(courier.getDomainEvents()).singleElement()
+                .isInstanceOfSatisfying(CourierReleasedDomainEvent.class, event -> {
+                    assertThat(event.getCourierId()).isEqualTo(courier.getId());
+                    assertThat(event.isAvailable()).isTrue();
+                });
+    }
+
     @Test
     void shouldNotCompleteOrderWhenOrderNotFound() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
         UUID orderId = UUID.randomUUID();
         UUID wrongOrderId = UUID.randomUUID();
         courier.takeOrder(orderId, Volume.mustCreate(5));
@@ -268,7 +289,7 @@ class CourierTest {
     @Test
     void shouldThrowExceptionWhenCompletingWithNullOrderId() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
 
         // Act & Assert
         assertThatThrownBy(() -> courier.completeOrder(null))
@@ -279,8 +300,8 @@ class CourierTest {
     @Test
     void shouldCalculateDeliveryTimeCorrectly() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1));
-        var target = Location.mustCreate(5, 5);
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var target = Location.mustCreate(5, 5, MapBounds.DEFAULT);
 
         // Act
         var result = courier.calculateDeliveryTime(target);
@@ -293,7 +314,7 @@ class CourierTest {
     @Test
     void shouldReturnErrorWhenTargetIsNull() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
 
         // Assert
         assertThatThrownBy(() -> courier.calculateDeliveryTime(null))
@@ -304,8 +325,8 @@ class CourierTest {
     @Test
     void shouldMoveTowardsTargetWithinSpeed() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1));
-        var target = Location.mustCreate(4, 5);
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var target = Location.mustCreate(4, 5, MapBounds.DEFAULT);
 
         // Act
         var result = courier.move(target);
@@ -320,8 +341,8 @@ class CourierTest {
     @Test
     void shouldMoveExactlyToTargetWhenWithinRange() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(5), Location.mustCreate(1, 1));
-        var target = Location.mustCreate(3, 4);
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(5), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var target = Location.mustCreate(3, 4, MapBounds.DEFAULT);
 
         // Act
         var result = courier.move(target);
@@ -334,8 +355,8 @@ class CourierTest {
     @Test
     void shouldNotMoveWhenTargetIsCurrentLocation() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5));
-        var target = Location.mustCreate(5, 5);
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(5, 5, MapBounds.DEFAULT));
+        var target = Location.mustCreate(5, 5, MapBounds.DEFAULT);
 
         // Act
         var result = courier.move(target);
@@ -348,10 +369,75 @@ class CourierTest {
     @Test
     void shouldThrowExceptionWhenMoveTargetIsNull() {
         // Arrange
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
 
         // Assert
         assertThatThrownBy(() -> courier.move(null))
                 .isInstanceOf(NullPointerException.class);
     }
+
+    @Test
+    void shouldBeBusyWhileHoldingOrder() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var orderId = UUID.randomUUID();
+
+        // Act
+        var wasBusy = courier.isBusy();
+        courier.takeOrder(orderId, Volume.mustCreate(5));
+        var busyWithOrder = courier.isBusy();
+        courier.completeOrder(orderId);
+
+        // Assert
+        assertThat(wasBusy).isFalse();
+        assertThat(busyWithOrder).isTrue();
+        assertThat(courier.isBusy()).isFalse();
+    }
+
+    @Test
+    void shouldStayFreeWhenOrderIsNotTaken() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT)); // только сумка на 10
+
+        // Act
+        var result = courier.takeOrder(UUID.randomUUID(), Volume.mustCreate(20));
+
+        // Assert
+        assertThat(result.isFailure()).isTrue();
+        assertThat(courier.isBusy()).isFalse();
+    }
+
+    @Test
+    void shouldCalculateSameDeliveryTimeOnPrimitiveFastPath() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(3), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var target = Location.mustCreate(5, 4, MapBounds.DEFAULT);
+
+        // Act
+        int ticks = courier.deliveryTimeTo(target);
+
+        // Assert
+        assertThat(ticks).isEqualTo(3); // 7/3 с округлением вверх
+        assertThat(ticks).isEqualTo(courier.calculateDeliveryTime(target).getValue());
+    }
+
+    @Test
+    void copyShouldNotShareMutableStateWithOriginal() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var copy = courier.copy();
+
+        // Act
+        copy.takeOrder(UUID.randomUUID(), Volume.mustCreate(5));
+        copy.move(Location.mustCreate(5, 5, MapBounds.DEFAULT));
+
+        // Assert
+        assertThat(copy).isEqualTo(courier);
+        assertThat(copy.getStoragePlaces()).extracting(StoragePlace::getId)
+                .containsExactlyElementsOf(courier.getStoragePlaces().stream().map(StoragePlace::getId).toList());
+        assertThat(courier.isBusy()).isFalse();
+        assertThat(courier.hasNoActiveOrders()).isTrue();
+        assertThat(courier.getLocation()).isEqualTo(Location.mustCreate(1, 1, MapBounds.DEFAULT));
+    }
 }
@@ -0,0 +1,57 @@
+package microarch.delivery.core.domain.model.kernel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeliveryPeriodTest {
+
+    @Test
+    void shouldCreateDeliveryPeriodWithValidHours() {
+        // Act
+        var result = DeliveryPeriod.create(9, 12);
+
+        // Assert
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getValue().getFrom()).isEqualTo(9);
+        assertThat(result.getValue().getTo()).isEqualTo(12);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"-1, 12", "9, 25", "12, 12", "18, 9"})
+    void shouldReturnErrorWhenHoursAreInvalid(int from, int to) {
+        // Act
+        var result = DeliveryPeriod.create(from, to);
+
+        // Assert
+        assertThat(result.isFailure()).isTrue();
+    }
+
+    @Test
+    void shouldUseSameDayDeadlineWhenWindowHasNotEndedYet() {
+        // Arrange
+        var period = DeliveryPeriod.mustCreate(9, 12);
+
+        // Act
+        var deadline = period.deadlineAfter(Instant.parse("2025-03-01T10:15:00Z"));
+
+        // Assert
+        assertThat(deadline).isEqualTo(Instant.parse("2025-03-01T12:00:00Z"));
+    }
+
+    @Test
+    void shouldMoveDeadlineToNextDayWhenWindowHasEnded() {
+        // Arrange
+        var period = DeliveryPeriod.mustCreate(9, 12);
+
+        // Act
+        var deadline = period.deadlineAfter(Instant.parse("2025-03-01T18:00:00Z"));
+
+        // Assert
+        assertThat(deadline).isEqualTo(Instant.parse("2025-03-02T12:00:00Z"));
+    }
+}
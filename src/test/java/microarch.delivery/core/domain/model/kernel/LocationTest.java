@@ -1,5 +1,6 @@
 package microarch.delivery.core.domain.model.kernel;
 
+import libs.ddd.ValueObject;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -10,13 +11,13 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 public class LocationTest {
     @Test
     void derivedAggregate() {
-        assertThat(Location.class.getSuperclass().getSimpleName()).isEqualTo("ValueObject");
+        assertThat(ValueObject.class.isAssignableFrom(Location.class)).isTrue();
     }
 
     @Test
     void shouldBeCorrectWhenParamsAreCorrectOnCreated() {
         // Act
-        var result = Location.create(1, 10);
+        var result = Location.create(1, 10, MapBounds.DEFAULT);
 
         // Assert
         assertThat(result.isSuccess()).isTrue();
@@ -34,7 +35,7 @@ public class LocationTest {
     })
     void shouldReturnErrorWhenPropertiesAreOutOfRange(int x, int y) {
         // Act
-        var result = Location.create(x, y);
+        var result = Location.create(x, y, MapBounds.DEFAULT);
 
         // Assert
         assertThat(result.isSuccess()).isFalse();
@@ -44,8 +45,8 @@ public class LocationTest {
     @Test
     public void shouldBeEqualWhenAllPropertiesIsEqual() {
         // Arrange
-        var first = Location.mustCreate(5, 6);
-        var second = Location.mustCreate(5, 6);
+        var first = Location.mustCreate(5, 6, MapBounds.DEFAULT);
+        var second = Location.mustCreate(5, 6, MapBounds.DEFAULT);
 
         // Act
         var result = first.equals(second);
@@ -57,8 +58,8 @@ public class LocationTest {
     @Test
     public void shouldBeNotEqualWhenOneOfPropertiesIsNotEqual() {
         // Arrange
-        var first = Location.mustCreate(6, 5);
-        var second = Location.mustCreate(6, 6);
+        var first = Location.mustCreate(6, 5, MapBounds.DEFAULT);
+        var second = Location.mustCreate(6, 6, MapBounds.DEFAULT);
 
         // Act
         var result = first.equals(second);
@@ -70,8 +71,8 @@ public class LocationTest {
     @Test
     void shouldCalculateDistanceBetweenTwoLocations() {
         // Arrange
-        var location = Location.mustCreate(1, 1);
-        var target = Location.mustCreate(4, 5);
+        var location = Location.mustCreate(1, 1, MapBounds.DEFAULT);
+        var target = Location.mustCreate(4, 5, MapBounds.DEFAULT);
         var expectedDistance = 7;
 
         // Act
@@ -85,8 +86,8 @@ public class LocationTest {
     @Test
     void shouldReturnZeroWhenLocationsAreSame() {
         // Arrange
-        var location = Location.mustCreate(3, 7);
-        var target = Location.mustCreate(3, 7);
+        var location = Location.mustCreate(3, 7, MapBounds.DEFAULT);
+        var target = Location.mustCreate(3, 7, MapBounds.DEFAULT);
 
         // Act
         var result = location.distanceTo(target);
@@ -104,8 +105,8 @@ public class LocationTest {
     })
     void shouldCalculateCorrectDistanceForDifferentDirections(int x1, int y1, int x2, int y2, int expectedDistance) {
         // Arrange
-        var location = Location.mustCreate(x1, y1);
-        var target = Location.mustCreate(x2, y2);
+        var location = Location.mustCreate(x1, y1, MapBounds.DEFAULT);
+        var target = Location.mustCreate(x2, y2, MapBounds.DEFAULT);
 
         // Act
         var result = location.distanceTo(target);
@@ -118,11 +119,73 @@ public class LocationTest {
     @Test
     void shouldReturnErrorWhenTargetIsNull() {
         // Arrange
-        var location = Location.mustCreate(1, 1);
+        var location = Location.mustCreate(1, 1, MapBounds.DEFAULT);
 
         // Assert
         assertThatThrownBy(() -> location.distanceTo(null))
                 .isInstanceOf(NullPointerException.class)
                 .hasMessageContaining("target");
     }
+
+    @Test
+    void shouldAcceptCoordinatesWithinGivenBounds() {
+        // Arrange
+        var bounds = MapBounds.mustCreate(100_000, 50_000);
+
+        // Act
+        var inside = Location.create(100_000, 50_000, bounds);
+        var outside = Location.create(100_000, 50_001, bounds);
+        var outsideDefaultMap = Location.create(100_000, 50_000, MapBounds.DEFAULT);
+
+        // Assert
+        assertThat(inside.isSuccess()).isTrue();
+        assertThat(outside.isFailure()).isTrue();
+        assertThat(outsideDefaultMap.isFailure()).isTrue();
+        assertThat(inside.getValue().manhattanDistance(Location.mustCreate(1, 1, bounds))).isEqualTo(149_998);
+    }
+
+    @Test
+    void shouldRejectEmptyMap() {
+        // Act
+        var result = MapBounds.create(0, 10);
+
+        // Assert
+        assertThat(result.isFailure()).isTrue();
+    }
+
+    @Test
+    void shouldStepTowardsTargetAlongXFirst() {
+        // Arrange
+        var location = Location.mustCreate(1, 1, MapBounds.DEFAULT);
+        var target = Location.mustCreate(3, 5, MapBounds.DEFAULT);
+
+        // Act
+        var step = location.stepTowards(target, 4);
+
+        // Assert
+        assertThat(step).isEqualTo(Location.mustCreate(3, 3, MapBounds.DEFAULT));
+    }
+
+    @Test
+    void shouldReturnSameInstanceForSameCoordinatesOnBoundedMap() {
+        // Act
+        var first = Location.mustCreate(3, 7, MapBounds.DEFAULT);
+        var second = Location.create(3, 7, MapBounds.DEFAULT).getValue();
+
+        // Assert
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldCompareByPrimitiveCoordinates() {
+        // Arrange
+        var location = Location.mustCreate(3, 7, MapBounds.DEFAULT);
+
+        // Assert
+        assertThat(location.hashCode()).isEqualTo(java.util.Objects.hash(3, 7));
+        assertThat(location.compareTo(Location.mustCreate(3, 8, MapBounds.DEFAULT))).isNegative();
+        assertThat(location.compareTo(Location.mustCreate(2, 9, MapBounds.DEFAULT))).isPositive();
+        assertThat(location.compareTo(Location.mustCreate(3, 7, MapBounds.DEFAULT))).isZero();
+        assertThat(location).isNotEqualTo(Location.mustCreate(7, 3, MapBounds.DEFAULT));
+    }
 }
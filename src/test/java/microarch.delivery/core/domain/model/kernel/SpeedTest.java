@@ -179,4 +179,27 @@ class SpeedTest {
         assertThatThrownBy(() -> volume.isGreaterOrEqual(null))
                 .isInstanceOf(NullPointerException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCalculateTicksToCoverDistance() {
+        // Arrange
+        var slow = Speed.mustCreate(1);
+        var fast = Speed.mustCreate(3);
+        var veryFast = Speed.mustCreate(100); // вне готовой таблицы
+
+        // Act & Assert
+        assertThat(slow.ticksToCover(0)).isEqualTo(0);
+        assertThat(slow.ticksToCover(7)).isEqualTo(7);
+        assertThat(fast.ticksToCover(7)).isEqualTo(3);
+        assertThat(fast.ticksToCover(9)).isEqualTo(3);
+        assertThat(fast.ticksToCover(1_000)).isEqualTo(334);
+        assertThat(veryFast.ticksToCover(250)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCalculateTicksToCoverDistanceForPrimitiveSpeed() {
+        // Act & Assert
+        assertThat(Speed.ticksToCover(3, 7)).isEqualTo(Speed.mustCreate(3).ticksToCover(7));
+        assertThat(Speed.ticksToCover(100, 250)).isEqualTo(3);
+    }
+}
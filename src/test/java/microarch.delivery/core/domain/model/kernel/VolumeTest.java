@@ -191,4 +191,18 @@ class VolumeTest {
         assertThat(minVolume.isLessOrEqual(alsoMinVolume)).isTrue();
         assertThat(minVolume.isGreaterOrEqual(alsoMinVolume)).isTrue();
     }
+
+    @Test
+    void shouldCompareByPrimitiveValue() {
+        // Arrange
+        var volume = Volume.mustCreate(10);
+        var same = Volume.mustCreate(10);
+
+        // Assert
+        assertThat(volume).isEqualTo(same).hasSameHashCodeAs(same);
+        assertThat(volume).isNotEqualTo(Volume.mustCreate(11));
+        assertThat(volume.compareTo(Volume.mustCreate(9))).isPositive();
+        assertThat(volume.compareTo(Volume.mustCreate(11))).isNegative();
+        assertThat(volume.toString()).isEqualTo("Volume[10]");
+    }
 }
@@ -1,10 +1,13 @@
 package microarch.delivery.core.domain.model.order;
 
+import microarch.delivery.core.domain.model.kernel.DeliveryPeriod;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Volume;
 import org.junit.jupiter.api.Test;
 
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -15,7 +18,7 @@ class OrderTest {
     void shouldCreateOrderWithValidParameters() {
         // Arrange
         UUID basketId = UUID.randomUUID();
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var volume = Volume.mustCreate(10);
 
         // Act
@@ -31,10 +34,45 @@ class OrderTest {
         assertThat(order.getCourierId()).isNull();
     }
 
+    @Test
+    void shouldKeepDeliveryPeriodAndDeadlineOfOrder() {
+        // Arrange
+        var period = DeliveryPeriod.mustCreate(9, 12);
+
+        // Act
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), Volume.mustCreate(5), period);
+
+        // Assert
+        assertThat(order.getDeliveryPeriod()).isEqualTo(period);
+        assertThat(order.getDeliveryDeadline()).isEqualTo(period.deadlineAfter(order.getCreatedAt()));
+        assertThat(order.getDeliveryDeadline()).isAfterOrEqualTo(order.getCreatedAt());
+    }
+
+    @Test
+    void shouldBeDueAtDeadlineOrAtCreationWithoutDeliveryPeriod() {
+        // Arrange
+        var withPeriod = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), Volume.mustCreate(5),
+                DeliveryPeriod.mustCreate(18, 24));
+        var withoutPeriod = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), Volume.mustCreate(5),
+                null);
+
+        // Act
+        var byUrgency = Stream.of(withPeriod, withoutPeriod).sorted(Order.BY_URGENCY).toList();
+
+        // Assert
+        assertThat(withPeriod.getDueAt()).isEqualTo(withPeriod.getDeliveryDeadline());
+        assertThat(withoutPeriod.getDueAt()).isEqualTo(withoutPeriod.getCreatedAt());
+        // Как в очереди в базе: COALESCE(delivery_deadline, created_at)
+        assertThat(byUrgency).containsExactly(withoutPeriod, withPeriod);
+    }
+
     @Test
     void shouldThrowExceptionWhenBasketIdIsNull() {
         // Arrange
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
 
         // Assert
         assertThatThrownBy(() -> Order.create(null, location, Volume.mustCreate(10)))
@@ -57,7 +95,7 @@ class OrderTest {
     void shouldReturnTrueWhenOrderIsNotCreated() {
         // Arrange
         UUID basketId = UUID.randomUUID();
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         Volume volume = Volume.mustCreate(10);
         var order = Order.mustCreate(basketId, location, volume);
 
@@ -70,7 +108,7 @@ class OrderTest {
     void shouldReturnFalseWhenOrderIsAssigned() {
         // Arrange
         UUID basketId = UUID.randomUUID();
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         Volume volume = Volume.mustCreate(10);
         var order = Order.mustCreate(basketId, location, volume);
         order.assign(UUID.randomUUID());
@@ -83,7 +121,7 @@ class OrderTest {
     void shouldReturnFalseWhenOrderIsCompleted() {
         // Arrange
         UUID basketId = UUID.randomUUID();
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         Volume volume = Volume.mustCreate(10);
         var order = Order.mustCreate(basketId, location, volume);
         UUID courierId = UUID.randomUUID();
@@ -98,7 +136,7 @@ class OrderTest {
     void shouldAssignCourierToOrder() {
         // Arrange
         UUID basketId = UUID.randomUUID();
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var order = Order.mustCreate(basketId, location, Volume.mustCreate(10));
         UUID courierId = UUID.randomUUID();
 
@@ -115,7 +153,7 @@ class OrderTest {
     void shouldThrowExceptionWhenAssigningWithNullCourierId() {
         // Arrange
         UUID basketId = UUID.randomUUID();
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var order = Order.mustCreate(basketId, location, Volume.mustCreate(10));
 
         // Act & Assert
@@ -128,7 +166,7 @@ class OrderTest {
     void shouldAllowReassigningToDifferentCourier() {
         // Arrange
         UUID basketId = UUID.randomUUID();
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var order = Order.mustCreate(basketId, location, Volume.mustCreate(10));
         UUID firstCourierId = UUID.randomUUID();
         UUID secondCourierId = UUID.randomUUID();
@@ -147,7 +185,7 @@ class OrderTest {
     void shouldCompleteAssignedOrder() {
         // Arrange
         UUID basketId = UUID.randomUUID();
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var order = Order.mustCreate(basketId, location, Volume.mustCreate(10));
         UUID courierId = UUID.randomUUID();
         order.assign(courierId);
@@ -165,7 +203,7 @@ class OrderTest {
     void shouldNotCompleteOrderWhenNotAssigned() {
         // Arrange
         UUID basketId = UUID.randomUUID();
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var order = Order.mustCreate(basketId, location, Volume.mustCreate(10));
 
         // Act
@@ -182,7 +220,7 @@ class OrderTest {
     void shouldNotCompleteAlreadyCompletedOrder() {
         // Arrange
         UUID basketId = UUID.randomUUID();
-        Location location = Location.mustCreate(5, 5);
+        Location location = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var order = Order.mustCreate(basketId, location, Volume.mustCreate(10));
         UUID courierId = UUID.randomUUID();
         order.assign(courierId);
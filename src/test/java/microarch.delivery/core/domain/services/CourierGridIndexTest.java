@@ -0,0 +1,106 @@
+package microarch.delivery.core.domain.services;
+
+import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
+import microarch.delivery.core.domain.model.kernel.Speed;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourierGridIndexTest {
+
+    @Test
+    void shouldFindSameCourierAsFullScan() {
+        // Arrange
+        var random = new Random(7);
+        var couriers = new ArrayList<Courier>();
+        for (int i = 0; i < 500; i++) {
+            couriers.add(Courier.mustCreate("Курьер " + i,
+                    Speed.mustCreate(1 + random.nextInt(4)),
+                    Location.mustCreate(1 + random.nextInt(10), 1 + random.nextInt(10), MapBounds.DEFAULT)));
+        }
+        var index = new CourierGridIndex(CourierSnapshot.of(couriers));
+
+        for (int x = 1; x <= 10; x++) {
+            for (int y = 1; y <= 10; y++) {
+                var target = Location.mustCreate(x, y, MapBounds.DEFAULT);
+
+                // Act
+                int found = index.findFastest(x, y, 5);
+
+                // Assert
+                assertThat(found).isEqualTo(fullScan(couriers, target));
+            }
+        }
+    }
+
+    @Test
+    void shouldSkipCouriersExcludedFromSnapshot() {
+        // Arrange
+        var near = Courier.mustCreate("Ближний", Speed.mustCreate(1), Location.mustCreate(2, 2, MapBounds.DEFAULT));
+        var far = Courier.mustCreate("Дальний", Speed.mustCreate(1), Location.mustCreate(9, 9, MapBounds.DEFAULT));
+        var snapshot = CourierSnapshot.of(List.of(near, far));
+        var index = new CourierGridIndex(snapshot);
+
+        // Act
+        int first = index.findFastest(1, 1, 5);
+        snapshot.exclude(first);
+        int second = index.findFastest(1, 1, 5);
+        snapshot.exclude(second);
+        int none = index.findFastest(1, 1, 5);
+
+        // Assert
+        assertThat(first).isEqualTo(0);
+        assertThat(second).isEqualTo(1);
+        assertThat(none).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldReturnNothingWhenNoCourierCanPlaceOrder() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT)); // только сумка на 10
+        var index = new CourierGridIndex(CourierSnapshot.of(List.of(courier)));
+
+        // Act
+        int found = index.findFastest(5, 5, 20);
+
+        // Assert
+        assertThat(found).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldBreakTiesByCourierIdRegardlessOfOrder() {
+        // Arrange
+        var first = Courier.mustCreate("Первый", Speed.mustCreate(1), Location.mustCreate(2, 2, MapBounds.DEFAULT));
+        var second = Courier.mustCreate("Второй", Speed.mustCreate(1), Location.mustCreate(2, 2, MapBounds.DEFAULT));
+        var smallerId = first.getId().compareTo(second.getId()) < 0 ? first : second;
+
+        // Act
+        int forward = new CourierGridIndex(CourierSnapshot.of(List.of(first, second))).findFastest(1, 1, 5);
+        int backward = new CourierGridIndex(CourierSnapshot.of(List.of(second, first))).findFastest(1, 1, 5);
+
+        // Assert
+        assertThat(List.of(first, second).get(forward)).isEqualTo(smallerId);
+        assertThat(List.of(second, first).get(backward)).isEqualTo(smallerId);
+    }
+
+    private static int fullScan(List<Courier> couriers, Location target) {
+        int best = -1;
+        int bestTime = Integer.MAX_VALUE;
+        for (int i = 0; i < couriers.size(); i++) {
+            int time = couriers.get(i).calculateDeliveryTime(target).getValue();
+            if (time < bestTime
+                    || (time == bestTime && couriers.get(i).getId().compareTo(couriers.get(best).getId()) < 0)) {
+                best = i;
+                bestTime = time;
+            }
+        }
+        return best;
+    }
+}
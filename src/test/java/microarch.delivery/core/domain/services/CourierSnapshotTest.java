@@ -0,0 +1,86 @@
+package microarch.delivery.core.domain.services;
+
+import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
+import microarch.delivery.core.domain.model.kernel.Speed;
+import microarch.delivery.core.domain.model.kernel.Volume;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourierSnapshotTest {
+
+    @Test
+    void shouldCopyCourierStateIntoArrays() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(3), Location.mustCreate(2, 7, MapBounds.DEFAULT));
+        courier.addStoragePlace("Багажник", Volume.mustCreate(30));
+
+        // Act
+        var snapshot = CourierSnapshot.of(List.of(courier));
+
+        // Assert
+        assertThat(snapshot.size).isEqualTo(1);
+        assertThat(snapshot.x[0]).isEqualTo(2);
+        assertThat(snapshot.y[0]).isEqualTo(7);
+        assertThat(snapshot.speed[0]).isEqualTo(3);
+        assertThat(snapshot.maxFreeVolume[0]).isEqualTo(30);
+        assertThat(snapshot.id[0]).isEqualTo(courier.getId());
+        assertThat(snapshot.deliveryTime(0, 5,
+                5)).isEqualTo(courier.deliveryTimeTo(Location.mustCreate(5, 5, MapBounds.DEFAULT)));
+    }
+
+    @Test
+    void shouldFindFastestCourierWithEnoughFreeVolume() {
+        // Arrange
+        var nearSmall = Courier.mustCreate("Рядом", Speed.mustCreate(1),
+                Location.mustCreate(2, 2, MapBounds.DEFAULT)); // сумка на 10
+        var farBig = Courier.mustCreate("Далеко", Speed.mustCreate(1), Location.mustCreate(9, 9, MapBounds.DEFAULT));
+        farBig.addStoragePlace("Багажник", Volume.mustCreate(30));
+        var snapshot = CourierSnapshot.of(List.of(nearSmall, farBig));
+
+        // Act
+        int forSmallOrder = snapshot.findFastest(1, 1, 5);
+        int forBigOrder = snapshot.findFastest(1, 1, 20);
+
+        // Assert
+        assertThat(forSmallOrder).isEqualTo(0);
+        assertThat(forBigOrder).isEqualTo(1);
+    }
+
+    @Test
+    void shouldBreakTiesByCourierIdRegardlessOfOrder() {
+        // Arrange
+        var first = Courier.mustCreate("Первый", Speed.mustCreate(1), Location.mustCreate(2, 2, MapBounds.DEFAULT));
+        var second = Courier.mustCreate("Второй", Speed.mustCreate(1), Location.mustCreate(2, 2, MapBounds.DEFAULT));
+        var smallerId = first.getId().compareTo(second.getId()) < 0 ? first : second;
+
+        // Act
+        int forward = CourierSnapshot.of(List.of(first, second)).findFastest(1, 1, 5);
+        int backward = CourierSnapshot.of(List.of(second, first)).findFastest(1, 1, 5);
+
+        // Assert
+        assertThat(List.of(first, second).get(forward)).isEqualTo(smallerId);
+        assertThat(List.of(second, first).get(backward)).isEqualTo(smallerId);
+    }
+
+    @Test
+    void shouldReflectTakenOrderAfterRefresh() {
+        // Arrange
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(1), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        courier.addStoragePlace("Багажник", Volume.mustCreate(30));
+        var snapshot = CourierSnapshot.of(List.of(courier));
+
+        // Act
+        courier.takeOrder(UUID.randomUUID(), Volume.mustCreate(25));
+        snapshot.refresh(0, courier);
+
+        // Assert
+        assertThat(snapshot.maxFreeVolume[0]).isEqualTo(10);
+        assertThat(snapshot.findFastest(1, 1, 20)).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,121 @@
+package microarch.delivery.core.domain.services;
+
+import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
+import microarch.delivery.core.domain.model.kernel.Speed;
+import microarch.delivery.core.domain.model.kernel.Volume;
+import microarch.delivery.core.domain.model.order.Order;
+import microarch.delivery.core.domain.model.order.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OptimalOrderDispatcherTest {
+
+    private final OrderDispatcher dispatcher = new OptimalOrderDispatcherImpl();
+
+    @Test
+    void shouldMinimizeTotalDeliveryTimeOfBatch() {
+        // Arrange
+        // Жадный диспетчер отдал бы первый заказ курьеру A (4 тика), а второй - курьеру B (8 тиков)
+        var order1 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 1, MapBounds.DEFAULT), Volume.mustCreate(5));
+        var order2 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(2, 1, MapBounds.DEFAULT), Volume.mustCreate(5));
+
+        var courierA = Courier.mustCreate("A", Speed.mustCreate(1), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var courierB = Courier.mustCreate("B", Speed.mustCreate(1), Location.mustCreate(10, 1, MapBounds.DEFAULT));
+
+        // Act
+        var assignments = dispatcher.dispatchAll(List.of(order1, order2), List.of(courierA, courierB));
+
+        // Assert
+        assertThat(assignments).hasSize(2);
+        assertThat(assignments.get(order1)).isEqualTo(courierB);
+        assertThat(assignments.get(order2)).isEqualTo(courierA);
+        assertThat(order1.getCourierId()).isEqualTo(courierB.getId());
+        assertThat(order2.getCourierId()).isEqualTo(courierA.getId());
+    }
+
+    @Test
+    void shouldNotAssignOrderToCourierWithoutSuitableStoragePlace() {
+        // Arrange
+        var bigOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(20));
+        var smallOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT)); // только сумка на 10
+
+        // Act
+        var assignments = dispatcher.dispatchAll(List.of(bigOrder, smallOrder), List.of(courier));
+
+        // Assert
+        assertThat(assignments).containsOnlyKeys(smallOrder);
+        assertThat(bigOrder.getStatus()).isEqualTo(OrderStatus.CREATED);
+        assertThat(smallOrder.getStatus()).isEqualTo(OrderStatus.ASSIGNED);
+    }
+
+    @Test
+    void shouldAssignSingleOrderToFastestCourier() {
+        // Arrange
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(5));
+        var slowCourier = Courier.mustCreate("Медленный", Speed.mustCreate(1),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var fastCourier = Courier.mustCreate("Быстрый", Speed.mustCreate(3),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT));
+
+        // Act
+        var result = dispatcher.dispatch(order, List.of(slowCourier, fastCourier));
+
+        // Assert
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getValue()).isEqualTo(fastCourier);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.ASSIGNED);
+    }
+
+    @Test
+    void shouldReturnFailureWhenNoCouriers() {
+        // Arrange
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(5));
+
+        // Act
+        var result = dispatcher.dispatch(order, List.of());
+
+        // Assert
+        assertThat(result.isFailure()).isTrue();
+        assertThat(result.getError().getCode()).isEqualTo("courier.is.not.found.order");
+    }
+
+    @Test
+    void shouldAssignOrdersToStoragePlacesInMultiOrderMode() {
+        // Arrange
+        var multiOrderDispatcher = new OptimalOrderDispatcherImpl(true);
+        var nearCourier = Courier.mustCreate("Рядом", Speed.mustCreate(1),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT)); // сумка на 10
+        nearCourier.addStoragePlace("Багажник", Volume.mustCreate(30));
+        var farCourier = Courier.mustCreate("Далеко", Speed.mustCreate(1),
+                Location.mustCreate(10, 10, MapBounds.DEFAULT));
+
+        // Крупный заказ помещается только в багажник - мелкий должен занять сумку того же курьера
+        var bigOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(2, 2, MapBounds.DEFAULT), Volume.mustCreate(20));
+        var smallOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(2, 1, MapBounds.DEFAULT), Volume.mustCreate(10));
+
+        // Act
+        var assignments = multiOrderDispatcher.dispatchAll(List.of(smallOrder, bigOrder), List.of(nearCourier, farCourier));
+
+        // Assert
+        assertThat(assignments).hasSize(2);
+        assertThat(assignments.get(bigOrder)).isEqualTo(nearCourier);
+        assertThat(assignments.get(smallOrder)).isEqualTo(nearCourier);
+        assertThat(farCourier.hasNoActiveOrders()).isTrue();
+    }
+}
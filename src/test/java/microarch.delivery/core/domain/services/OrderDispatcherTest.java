@@ -1,13 +1,19 @@
 package microarch.delivery.core.domain.services;
 
 import microarch.delivery.core.domain.model.courier.Courier;
+import microarch.delivery.core.domain.model.kernel.DeliveryPeriod;
 import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
 import microarch.delivery.core.domain.model.kernel.Speed;
 import microarch.delivery.core.domain.model.kernel.Volume;
 import microarch.delivery.core.domain.model.order.Order;
 import microarch.delivery.core.domain.model.order.OrderStatus;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,11 +26,13 @@ class OrderDispatcherTest {
     @Test
     void shouldAssignOrderToFastestCourier() {
         // Arrange
-        var orderLocation = Location.mustCreate(5, 5);
+        var orderLocation = Location.mustCreate(5, 5, MapBounds.DEFAULT);
         var order = Order.mustCreate(UUID.randomUUID(), orderLocation, Volume.mustCreate(5));
 
-        var slowCourier = Courier.mustCreate("Медленный", Speed.mustCreate(1), Location.mustCreate(1, 1));
-        var fastCourier = Courier.mustCreate("Быстрый", Speed.mustCreate(3), Location.mustCreate(1, 1));
+        var slowCourier = Courier.mustCreate("Медленный", Speed.mustCreate(1),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var fastCourier = Courier.mustCreate("Быстрый", Speed.mustCreate(3),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT));
         var couriers = List.of(slowCourier, fastCourier);
 
         // Act
@@ -42,8 +50,10 @@ class OrderDispatcherTest {
     @Test
     void shouldNotAssignOrderWhenNoSuitableCourier() {
         // Arrange
-        var order = Order.mustCreate(UUID.randomUUID(), Location.mustCreate(5, 5), Volume.mustCreate(20));
-        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1)); // только сумка на 10
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(20));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT)); // только сумка на 10
 
         // Act
         var result = dispatcher.dispatch(order, List.of(courier));
@@ -54,4 +64,185 @@ class OrderDispatcherTest {
         assertThat(order.getCourierId()).isNull();
         assertThat(order.getStatus()).isEqualTo(OrderStatus.CREATED);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldAssignEveryOrderOfBatchToDifferentCouriers() {
+        // Arrange
+        var order1 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(2, 2, MapBounds.DEFAULT), Volume.mustCreate(5));
+        var order2 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(9, 9, MapBounds.DEFAULT), Volume.mustCreate(5));
+
+        var nearCourier = Courier.mustCreate("Ближний", Speed.mustCreate(1),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var farCourier = Courier.mustCreate("Дальний", Speed.mustCreate(1),
+                Location.mustCreate(10, 10, MapBounds.DEFAULT));
+
+        // Act
+        var assignments = dispatcher.dispatchAll(List.of(order1, order2), List.of(nearCourier, farCourier));
+
+        // Assert
+        assertThat(assignments).hasSize(2);
+        assertThat(assignments.get(order1)).isEqualTo(nearCourier);
+        assertThat(assignments.get(order2)).isEqualTo(farCourier);
+        assertThat(order1.getStatus()).isEqualTo(OrderStatus.ASSIGNED);
+        assertThat(order2.getStatus()).isEqualTo(OrderStatus.ASSIGNED);
+    }
+
+    @Test
+    void shouldLeaveOrdersUnassignedWhenBatchExceedsCouriers() {
+        // Arrange
+        var order1 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(2, 2, MapBounds.DEFAULT), Volume.mustCreate(5));
+        var order2 = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(3, 3, MapBounds.DEFAULT), Volume.mustCreate(5));
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+
+        // Act
+        var assignments = dispatcher.dispatchAll(List.of(order1, order2), List.of(courier));
+
+        // Assert
+        assertThat(assignments).hasSize(1);
+        assertThat(assignments).containsEntry(order1, courier);
+        assertThat(order2.getStatus()).isEqualTo(OrderStatus.CREATED);
+    }
+
+    @Test
+    void shouldGiveFastestCourierToMostUrgentOrderOfBatch() {
+        // Arrange
+        var windowOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(2, 2, MapBounds.DEFAULT), Volume.mustCreate(5),
+                DeliveryPeriod.mustCreate(18, 24));
+        // Заказ без окна доставки нужно везти сразу
+        var asapOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(2, 2, MapBounds.DEFAULT), Volume.mustCreate(5));
+
+        var nearCourier = Courier.mustCreate("Ближний", Speed.mustCreate(1),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        var farCourier = Courier.mustCreate("Дальний", Speed.mustCreate(1),
+                Location.mustCreate(10, 10, MapBounds.DEFAULT));
+
+        // Act
+        var assignments = dispatcher.dispatchAll(List.of(windowOrder, asapOrder), List.of(nearCourier, farCourier));
+
+        // Assert
+        assertThat(assignments).containsEntry(asapOrder, nearCourier);
+        assertThat(assignments).containsEntry(windowOrder, farCourier);
+    }
+
+    @Test
+    void shouldUseFastestCourierWhenPoolIsLargeEnoughForSpatialIndex() {
+        // Arrange
+        var couriers = new ArrayList<Courier>();
+        for (int i = 0; i < OrderDispatcherImpl.SPATIAL_INDEX_THRESHOLD; i++) {
+            couriers.add(Courier.mustCreate("Дальний " + i, Speed.mustCreate(1),
+                    Location.mustCreate(10, 10, MapBounds.DEFAULT)));
+        }
+        var nearCourier = Courier.mustCreate("Ближний", Speed.mustCreate(1),
+                Location.mustCreate(2, 2, MapBounds.DEFAULT));
+        couriers.add(nearCourier);
+
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), Volume.mustCreate(5));
+
+        // Act
+        var assignments = dispatcher.dispatchAll(List.of(order), couriers);
+
+        // Assert
+        assertThat(assignments).containsEntry(order, nearCourier);
+        assertThat(order.getCourierId()).isEqualTo(nearCourier.getId());
+    }
+
+    @Test
+    void shouldPackSeveralOrdersIntoStoragePlacesOfOneCourierInMultiOrderMode() {
+        // Arrange
+        var dispatcher = new OrderDispatcherImpl(true);
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT)); // сумка на 10
+        courier.addStoragePlace("Багажник", Volume.mustCreate(30));
+
+        var smallOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(3, 3, MapBounds.DEFAULT), Volume.mustCreate(8));
+        var bigOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(4, 4, MapBounds.DEFAULT), Volume.mustCreate(25));
+
+        // Act
+        var assignments = dispatcher.dispatchAll(List.of(smallOrder, bigOrder), List.of(courier));
+
+        // Assert
+        assertThat(assignments).containsOnlyKeys(smallOrder, bigOrder);
+        assertThat(courier.canPlaceOrder(Volume.mustCreate(1))).isFalse();
+        assertThat(courier.getStoragePlaces())
+                .extracting(storagePlace -> storagePlace.getOrderId())
+                .containsExactlyInAnyOrder(smallOrder.getId(), bigOrder.getId());
+    }
+
+    @Test
+    void shouldAssignOrderToBusyCourierWithEmptyStoragePlaceInMultiOrderMode() {
+        // Arrange
+        var dispatcher = new OrderDispatcherImpl(true);
+        var courier = Courier.mustCreate("Иван", Speed.mustCreate(2), Location.mustCreate(1, 1, MapBounds.DEFAULT));
+        courier.addStoragePlace("Багажник", Volume.mustCreate(30));
+        courier.takeOrder(UUID.randomUUID(), Volume.mustCreate(10));
+
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(10));
+        var otherOrder = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(5, 5, MapBounds.DEFAULT), Volume.mustCreate(10));
+
+        // Act
+        var singleOrderResult = new OrderDispatcherImpl().dispatch(otherOrder, List.of(courier));
+        var result = dispatcher.dispatch(order, List.of(courier));
+
+        // Assert
+        assertThat(singleOrderResult.isFailure()).isTrue();
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(order.getCourierId()).isEqualTo(courier.getId());
+    }
+
+    @Test
+    void shouldScoreLargePoolInParallelAndBreakTiesByCourierId() {
+        // Arrange
+        var couriers = new ArrayList<Courier>();
+        for (int i = 0; i < OrderDispatcherImpl.PARALLEL_SCORING_THRESHOLD * 2; i++) {
+            couriers.add(Courier.mustCreate("Курьер " + i, Speed.mustCreate(2),
+                    Location.mustCreate(5, 5, MapBounds.DEFAULT)));
+        }
+        var expected = couriers.stream().min(Comparator.comparing(Courier::getId)).orElseThrow();
+
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), Volume.mustCreate(5));
+
+        // Act
+        var result = dispatcher.dispatch(order, couriers);
+
+        // Assert
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getValue()).isSameAs(expected);
+        assertThat(order.getCourierId()).isEqualTo(expected.getId());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {OrderDispatcherImpl.PARALLEL_SCORING_THRESHOLD - 1,
+            OrderDispatcherImpl.PARALLEL_SCORING_THRESHOLD})
+    void shouldBreakTiesByCourierIdOnBothSidesOfParallelThreshold(int poolSize) {
+        // Arrange
+        var couriers = new ArrayList<Courier>();
+        for (int i = 0; i < poolSize; i++) {
+            couriers.add(Courier.mustCreate("Курьер " + i, Speed.mustCreate(2),
+                    Location.mustCreate(5, 5, MapBounds.DEFAULT)));
+        }
+        // Курьер с меньшим id стоит последним, правило "первый в списке" выбрало бы другого
+        couriers.sort(Comparator.comparing(Courier::getId).reversed());
+        var expected = couriers.get(couriers.size() - 1);
+
+        var order = Order.mustCreate(UUID.randomUUID(),
+                Location.mustCreate(1, 1, MapBounds.DEFAULT), Volume.mustCreate(5));
+
+        // Act
+        var result = dispatcher.dispatch(order, couriers);
+
+        // Assert
+        assertThat(result.getValue()).isSameAs(expected);
+    }
+}
@@ -0,0 +1,34 @@
+package microarch.delivery.core.domain.services;
+
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RegionGridTest {
+
+    @Test
+    void shouldNumberRegionsRowByRow() {
+        // Arrange
+        // Карта 10x10 делится на тайлы 4x4: по 3 тайла в строке
+        var grid = new RegionGrid(4, 10);
+
+        // Act & Assert
+        assertThat(grid.getTilesPerRow()).isEqualTo(3);
+        assertThat(grid.regionOf(Location.mustCreate(1, 1, MapBounds.DEFAULT))).isEqualTo(0);
+        assertThat(grid.regionOf(Location.mustCreate(4, 4, MapBounds.DEFAULT))).isEqualTo(0);
+        assertThat(grid.regionOf(Location.mustCreate(5, 1, MapBounds.DEFAULT))).isEqualTo(1);
+        assertThat(grid.regionOf(Location.mustCreate(10, 1, MapBounds.DEFAULT))).isEqualTo(2);
+        assertThat(grid.regionOf(Location.mustCreate(1, 5, MapBounds.DEFAULT))).isEqualTo(3);
+        assertThat(grid.regionOf(Location.mustCreate(10, 10, MapBounds.DEFAULT))).isEqualTo(8);
+    }
+
+    @Test
+    void shouldRejectNonPositiveTileSize() {
+        // Act & Assert
+        assertThatThrownBy(() -> new RegionGrid(0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,96 @@
+package microarch.delivery.core.domain.services;
+
+import microarch.delivery.core.domain.model.kernel.Location;
+import microarch.delivery.core.domain.model.kernel.MapBounds;
+import microarch.delivery.core.domain.model.kernel.Volume;
+import microarch.delivery.core.domain.model.order.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoutePlannerTest {
+
+    private final RoutePlanner planner = new RoutePlannerImpl();
+
+    @Test
+    void shouldVisitTargetsInShortestOrder() {
+        // Arrange
+        // Ближайший сосед поехал бы сначала в (7, 2) и проделал путь 17, оптимальный маршрут - 13
+        var start = Location.mustCreate(5, 1, MapBounds.DEFAULT);
+        var orders = List.of(order(7, 2), order(2, 1), order(10, 3));
+
+        // Act
+        var route = planner.plan(start, orders);
+
+        // Assert
+        assertThat(route.stops()).containsExactly(
+                Location.mustCreate(2, 1, MapBounds.DEFAULT),
+                Location.mustCreate(7, 2, MapBounds.DEFAULT),
+                Location.mustCreate(10, 3, MapBounds.DEFAULT));
+        assertThat(RoutePlannerImpl.length(start, route.stops())).isEqualTo(13);
+    }
+
+    @Test
+    void shouldKeepRouteWhileOrdersAreDeliveredAndNotCoverNewOrder() {
+        // Arrange
+        var near = order(2, 1);
+        var far = order(9, 1);
+        var route = planner.plan(Location.mustCreate(1, 1, MapBounds.DEFAULT), List.of(near, far));
+        var added = order(1, 2);
+
+        // Act
+        var first = route.nextTarget(List.of(near, far));
+        var afterDelivery = route.nextTarget(List.of(far));
+
+        // Assert
+        assertThat(first).isEqualTo(near.getLocation());
+        assertThat(afterDelivery).isEqualTo(far.getLocation());
+        assertThat(route.covers(List.of(far))).isTrue();
+        assertThat(route.covers(List.of(far, added))).isFalse();
+    }
+
+    @Test
+    void shouldBuildRouteNotLongerThanNearestNeighbourForManyTargets() {
+        // Arrange
+        var random = new Random(42);
+        var start = Location.mustCreate(5, 5, MapBounds.DEFAULT);
+        var orders = new ArrayList<Order>();
+        for (int i = 0; i < RoutePlannerImpl.EXACT_LIMIT + 5; i++) {
+            orders.add(order(1 + random.nextInt(10), 1 + random.nextInt(10)));
+        }
+
+        // Act
+        var route = planner.plan(start, orders);
+
+        // Assert
+        var distinctTargets = orders.stream().map(Order::getLocation).distinct().toList();
+        assertThat(route.stops()).containsExactlyInAnyOrderElementsOf(distinctTargets);
+        assertThat(RoutePlannerImpl.length(start, route.stops()))
+                .isLessThanOrEqualTo(nearestNeighbourLength(start, distinctTargets));
+    }
+
+    private static int nearestNeighbourLength(Location start, List<Location> targets) {
+        var left = new ArrayList<>(targets);
+        var path = new ArrayList<Location>();
+        var current = start;
+        while (!left.isEmpty()) {
+            var from = current;
+            var next = left.stream()
+                    .min((a, b) -> from.distanceTo(a).getValue() - from.distanceTo(b).getValue())
+                    .orElseThrow();
+            left.remove(next);
+            path.add(next);
+            current = next;
+        }
+        return RoutePlannerImpl.length(start, path);
+    }
+
+    private static Order order(int x, int y) {
+        return Order.mustCreate(UUID.randomUUID(), Location.mustCreate(x, y, MapBounds.DEFAULT), Volume.mustCreate(5));
+    }
+}